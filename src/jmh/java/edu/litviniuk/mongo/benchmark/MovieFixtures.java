@@ -0,0 +1,89 @@
+package edu.litviniuk.mongo.benchmark;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieFixtures
+  @version 1.0.0
+  @since 18.10.2026 - 16.40
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.GenreStatsRepository;
+import edu.litviniuk.mongo.repository.MovieHistoryRepository;
+import edu.litviniuk.mongo.repository.MovieRepository;
+import org.bson.types.ObjectId;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class MovieFixtures {
+
+    static List<MovieModel> movies(int count) {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 0);
+        List<MovieModel> movies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            movies.add(MovieModel.builder()
+                    .id(new ObjectId().toHexString())
+                    .title("Movie " + i)
+                    .description("A reasonably long description of movie number " + i + " used for payload sizing")
+                    .genre(i % 2 == 0 ? "Drama" : "Sci-Fi")
+                    .createDate(now.minusDays(i))
+                    .lastUpdateDate(now.minusMinutes(i))
+                    .version((long) i)
+                    .build());
+        }
+        return movies;
+    }
+
+    // in-memory MovieRepository that answers the calls MovieService makes without touching Mongo
+    static MovieRepository stubRepository(List<MovieModel> movies) {
+        MovieModel first = movies.get(0);
+        return (MovieRepository) Proxy.newProxyInstance(
+                MovieRepository.class.getClassLoader(),
+                new Class<?>[]{MovieRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findPage" -> movies.subList(0, Math.min((int) args[2], movies.size()));
+                    case "streamAll" -> movies.stream();
+                    case "findById", "findProjectedById", "removeById" -> Optional.of(first);
+                    case "existsById" -> true;
+                    case "insert", "save" -> args[0];
+                    case "applyUpdate" -> first;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubMovieRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // counter writes are no-ops, the benchmarks measure MovieService itself
+    static GenreStatsRepository stubGenreStatsRepository() {
+        return (GenreStatsRepository) Proxy.newProxyInstance(
+                GenreStatsRepository.class.getClassLoader(),
+                new Class<?>[]{GenreStatsRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "incrementMovieCounts", "recordUpdate" -> null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubGenreStatsRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // history entries are accepted and dropped
+    static MovieHistoryRepository stubHistoryRepository() {
+        return (MovieHistoryRepository) Proxy.newProxyInstance(
+                MovieHistoryRepository.class.getClassLoader(),
+                new Class<?>[]{MovieHistoryRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "insert" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubMovieHistoryRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,65 @@
+package edu.litviniuk.mongo.benchmark;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieModelBenchmark
+  @version 1.0.0
+  @since 18.10.2026 - 16.50
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieSort;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.utils.PageCursor;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MovieModelBenchmark {
+
+    private final CreateMovieRequest request = new CreateMovieRequest("Inception", "A mind-bending thriller", "Sci-Fi");
+    private final LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 0);
+    private MovieModel movie;
+    private String cursor;
+
+    @Setup
+    public void setup() {
+        movie = MovieFixtures.movies(1).get(0);
+        cursor = PageCursor.after(MovieSort.CREATE_DATE, movie).encode();
+    }
+
+    @Benchmark
+    public MovieModel builder() {
+        return MovieModel.builder()
+                .title(request.title())
+                .description(request.description())
+                .genre(request.genre())
+                .createDate(now)
+                .build();
+    }
+
+    // same mapping MovieService.create applies to a CreateMovieRequest
+    @Benchmark
+    public MovieModel mapCreateRequest() {
+        MovieModel mapped = new MovieModel(request.title(), request.description(), request.genre());
+        mapped.setCreateDate(now);
+        return mapped;
+    }
+
+    @Benchmark
+    public String encodeCursor() {
+        return PageCursor.after(MovieSort.CREATE_DATE, movie).encode();
+    }
+
+    @Benchmark
+    public PageCursor decodeCursor() {
+        return PageCursor.decode(cursor);
+    }
+}
@@ -0,0 +1,78 @@
+package edu.litviniuk.mongo.benchmark;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieServiceBenchmark
+  @version 1.0.0
+  @since 18.10.2026 - 16.55
+*/
+
+import edu.litviniuk.mongo.cache.MovieCache;
+import edu.litviniuk.mongo.cache.MovieCatalogSnapshot;
+import edu.litviniuk.mongo.cache.MovieReadCoalescer;
+import edu.litviniuk.mongo.config.AuditorAwareImpl;
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.request.UpdateMovieRequest;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.service.GenreStatsService;
+import edu.litviniuk.mongo.service.MovieHistoryService;
+import edu.litviniuk.mongo.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// service overhead only: the repository is an in-memory stub, so Mongo latency is excluded
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MovieServiceBenchmark {
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private MovieService movieService;
+    private String movieId;
+
+    @Setup
+    public void setup() {
+        MovieProperties properties = new MovieProperties();
+        properties.getCache().setEnabled(cacheEnabled);
+        var movies = MovieFixtures.movies(500);
+        movieId = movies.get(0).getId();
+        movieService = new MovieService(MovieFixtures.stubRepository(movies), properties, new MovieCache(properties),
+                new MovieReadCoalescer(), new MovieCatalogSnapshot(null, properties, null),
+                new GenreStatsService(MovieFixtures.stubGenreStatsRepository()),
+                new MovieHistoryService(MovieFixtures.stubHistoryRepository(), null, new AuditorAwareImpl(), properties));
+    }
+
+    @Benchmark
+    public ApiResponse<BaseMetaData, MovieModel> getPage() {
+        return movieService.getAllMoviesApiResponse(null, 50, null, null, null);
+    }
+
+    @Benchmark
+    public ApiResponse<BaseMetaData, MovieModel> getSummaryPage() {
+        return movieService.getAllMoviesApiResponse(null, 50, null, null, "summary");
+    }
+
+    @Benchmark
+    public ApiResponse<BaseMetaData, MovieModel> getById() {
+        return movieService.getMovieByIdApiResponse(movieId, null, null);
+    }
+
+    @Benchmark
+    public ApiResponse<BaseMetaData, MovieModel> create() {
+        return movieService.createMovieApiResponse(new CreateMovieRequest("Benchmark", "Desc", "Drama"));
+    }
+
+    @Benchmark
+    public ApiResponse<BaseMetaData, MovieModel> update() {
+        return movieService.updateMovieApiResponse(new UpdateMovieRequest(movieId, "Benchmark", "Desc", "Drama"), null);
+    }
+}
@@ -0,0 +1,101 @@
+package edu.litviniuk.mongo.benchmark;
+
+/*
+  @author darin
+  @project mongo
+  @class SerializationBenchmark
+  @version 1.0.0
+  @since 18.10.2026 - 16.45
+*/
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import edu.litviniuk.mongo.cache.MovieCatalogSnapshot;
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.utils.JsonConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int size;
+
+    private ApiResponse<BaseMetaData, MovieModel> response;
+    private ObjectMapper springLikeMapper;
+    private MovieCatalogSnapshot.Snapshot snapshot;
+    // the mapper closes the stream after writeValue, OutputStream.nullOutputStream() would then throw
+    private final OutputStream body = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Setup
+    public void setup() {
+        response = new ApiResponse<>(BaseMetaData.builder().build(), MovieFixtures.movies(size));
+        // roughly what Spring Boot's auto-configured mapper does for the REST endpoints
+        springLikeMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        MovieProperties properties = new MovieProperties();
+        properties.getSnapshot().setEnabled(true);
+        MovieCatalogSnapshot catalogSnapshot = new MovieCatalogSnapshot(
+                MovieFixtures.stubRepository(response.getData()), properties, springLikeMapper);
+        catalogSnapshot.reload();
+        snapshot = catalogSnapshot.current();
+    }
+
+    // what JsonConverter.toJson used to do on every call
+    @Benchmark
+    public String freshObjectMapperPerCall() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        return objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public String jsonConverter() throws JsonProcessingException {
+        return JsonConverter.toJson(response);
+    }
+
+    @Benchmark
+    public byte[] jsonConverterBytes() throws JsonProcessingException {
+        return JsonConverter.toJsonBytes(response);
+    }
+
+    @Benchmark
+    public byte[] springObjectMapper() throws JsonProcessingException {
+        return springLikeMapper.writeValueAsBytes(response);
+    }
+
+    // what the list endpoint costs per request: encode straight into the response stream...
+    @Benchmark
+    public void serializeIntoResponse() throws IOException {
+        springLikeMapper.writeValue(body, response);
+    }
+
+    // ...against movies.snapshot.enabled, where the body was encoded once when the catalog changed
+    @Benchmark
+    public void writePreEncodedSnapshot() throws IOException {
+        snapshot.writeTo(body, false);
+    }
+}
@@ -0,0 +1,75 @@
+package edu.litviniuk.mongo.benchmark;
+
+/*
+  @author darin
+  @project mongo
+  @class WireFormatBenchmark
+  @version 1.0.0
+  @since 18.10.2026 - 22.55
+*/
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// the list endpoint body in each format the API negotiates; payload sizes are printed once per trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WireFormatBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private JavaType type;
+    private ApiResponse<BaseMetaData, MovieModel> response;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        // what BinaryFormatConfiguration and Boot's JSON converter build, minus the spring.jackson.* properties
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        type = mapper.getTypeFactory().constructParametricType(ApiResponse.class, BaseMetaData.class, MovieModel.class);
+        response = new ApiResponse<>(BaseMetaData.builder().build(), MovieFixtures.movies(size));
+        payload = mapper.writeValueAsBytes(response);
+        System.out.printf("%n%s, %d movies: %d bytes%n", format, size, payload.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponse<BaseMetaData, MovieModel> deserialize() throws IOException {
+        return mapper.readValue(payload, type);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package edu.litviniuk.mongo.loadtest;
+
+/*
+  @author darin
+  @project mongo
+  @class LatencyRecorder
+  @version 1.0.0
+  @since 18.10.2026 - 19.20
+*/
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// latencies in microseconds, measured from the intended send time so queueing delay is not hidden
+class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram all = histogram();
+    private final Map<Operation, Histogram> byOperation = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> clientErrors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> serverErrors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> skipped = new EnumMap<>(Operation.class);
+    private final LongAdder completedInWindow = new LongAdder();
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            byOperation.put(operation, histogram());
+            clientErrors.put(operation, new LongAdder());
+            serverErrors.put(operation, new LongAdder());
+            skipped.put(operation, new LongAdder());
+        }
+    }
+
+    // status -1 means the request failed without a response (timeout, refused connection)
+    void record(Operation operation, long micros, int status) {
+        long value = Math.min(micros, HIGHEST_TRACKABLE);
+        all.recordValue(value);
+        byOperation.get(operation).recordValue(value);
+        if (status >= 500 || status < 0) {
+            serverErrors.get(operation).increment();
+        } else if (status >= 400) {
+            clientErrors.get(operation).increment();
+        }
+    }
+
+    // the mix asked for an operation on an existing movie but none was left
+    void skip(Operation operation) {
+        skipped.get(operation).increment();
+    }
+
+    // responses that arrived inside the measured window, the basis of the achieved throughput
+    void completedInWindow() {
+        completedInWindow.increment();
+    }
+
+    long completedInWindowCount() {
+        return completedInWindow.sum();
+    }
+
+    Histogram all() {
+        return all;
+    }
+
+    Histogram histogram(Operation operation) {
+        return byOperation.get(operation);
+    }
+
+    long clientErrors(Operation operation) {
+        return clientErrors.get(operation).sum();
+    }
+
+    long serverErrors(Operation operation) {
+        return serverErrors.get(operation).sum();
+    }
+
+    long skipped(Operation operation) {
+        return skipped.get(operation).sum();
+    }
+
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE, SIGNIFICANT_DIGITS);
+    }
+}
@@ -0,0 +1,78 @@
+package edu.litviniuk.mongo.loadtest;
+
+/*
+  @author darin
+  @project mongo
+  @class LoadTestOptions
+  @version 1.0.0
+  @since 18.10.2026 - 19.00
+*/
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// key=value (or --key=value) arguments; everything has a default so a bare run is a short smoke test
+record LoadTestOptions(String baseUrl, int rate, Duration duration, Duration warmup, int seed,
+                       Map<Operation, Integer> mix, Path report, Path baseline, List<String> appArgs) {
+
+    // passed through to the in-process application, e.g. spring.docker.compose.enabled=false
+    private static final List<String> APP_PREFIXES = List.of("spring.", "server.", "movies.", "management.");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            if (!option.contains("=")) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            String key = option.substring(0, option.indexOf('='));
+            if (APP_PREFIXES.stream().anyMatch(key::startsWith)) {
+                appArgs.add("--" + option);
+            } else {
+                values.put(key, option.substring(option.indexOf('=') + 1));
+            }
+        }
+        String baseline = values.remove("baseline");
+        LoadTestOptions options = new LoadTestOptions(
+                values.remove("base-url"),
+                Integer.parseInt(take(values, "rate", "200")),
+                Duration.parse("PT" + take(values, "duration", "30s")),
+                Duration.parse("PT" + take(values, "warmup", "10s")),
+                Integer.parseInt(take(values, "seed", "1000")),
+                parseMix(take(values, "mix", "read=60,list=5,plain_list=5,create=10,update=15,delete=5")),
+                Path.of(take(values, "report", "target/loadtest/report.json")),
+                baseline == null ? null : Path.of(baseline),
+                appArgs);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.rate < 1) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String key, String defaultValue) {
+        String value = values.remove(key);
+        return value == null ? defaultValue : value;
+    }
+
+    // read=60,create=10,... -> relative weights, operations left out are not sent
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split("=");
+            weights.put(Operation.valueOf(entry[0].trim().toUpperCase()), Integer.parseInt(entry[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() < 1) {
+            throw new IllegalArgumentException("Mix must have a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,119 @@
+package edu.litviniuk.mongo.loadtest;
+
+/*
+  @author darin
+  @project mongo
+  @class LoadTestReport
+  @version 1.0.0
+  @since 18.10.2026 - 19.30
+*/
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+
+// fixed key order so two reports can be diffed line by line; --baseline adds relative changes
+class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_KEYS = {"p50", "p90", "p99", "p999"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    ObjectNode build(LoadTestOptions options, String baseUrl, Instant startedAt, LatencyRecorder recorder) {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("startedAt", startedAt.toString());
+        report.put("baseUrl", baseUrl);
+
+        ObjectNode config = report.putObject("config");
+        config.put("rate", options.rate());
+        config.put("durationSeconds", options.duration().toSeconds());
+        config.put("warmupSeconds", options.warmup().toSeconds());
+        config.put("seed", options.seed());
+        ObjectNode mix = config.putObject("mix");
+        options.mix().forEach((operation, weight) -> mix.put(key(operation), weight));
+
+        ObjectNode throughput = report.putObject("throughput");
+        throughput.put("offered", options.rate());
+        throughput.put("achieved", round(recorder.completedInWindowCount() / (double) options.duration().toSeconds()));
+
+        ObjectNode latency = report.putObject("latencyMs");
+        latency.set("all", summary(recorder.all()));
+        ObjectNode errors = report.putObject("errors");
+        for (Operation operation : options.mix().keySet()) {
+            latency.set(key(operation), summary(recorder.histogram(operation)));
+            ObjectNode operationErrors = errors.putObject(key(operation));
+            operationErrors.put("4xx", recorder.clientErrors(operation));
+            operationErrors.put("5xx", recorder.serverErrors(operation));
+            operationErrors.put("skipped", recorder.skipped(operation));
+        }
+        return report;
+    }
+
+    // relative change against an earlier report, e.g. latencyMs.read.p99 -> +12.5 (%)
+    void compare(ObjectNode report, Path baselinePath) throws IOException {
+        JsonNode baseline = objectMapper.readTree(baselinePath.toFile());
+        ObjectNode change = report.putObject("changeVsBaselinePercent");
+        change.put("throughput.achieved", percent(baseline.path("throughput").path("achieved"),
+                report.path("throughput").path("achieved")));
+        Iterator<Map.Entry<String, JsonNode>> operations = report.path("latencyMs").fields();
+        while (operations.hasNext()) {
+            Map.Entry<String, JsonNode> operation = operations.next();
+            for (String percentile : PERCENTILE_KEYS) {
+                JsonNode before = baseline.path("latencyMs").path(operation.getKey()).path(percentile);
+                if (!before.isMissingNode()) {
+                    change.put("latencyMs." + operation.getKey() + "." + percentile,
+                            percent(before, operation.getValue().path(percentile)));
+                }
+            }
+        }
+    }
+
+    void write(ObjectNode report, Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writeValue(path.toFile(), report);
+    }
+
+    String toPrettyString(ObjectNode report) throws IOException {
+        return objectMapper.writeValueAsString(report);
+    }
+
+    private ObjectNode summary(Histogram histogram) {
+        ObjectNode summary = objectMapper.createObjectNode();
+        summary.put("count", histogram.getTotalCount());
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            summary.put(PERCENTILE_KEYS[i], millis(histogram.getValueAtPercentile(PERCENTILES[i])));
+        }
+        summary.put("max", millis(histogram.getMaxValue()));
+        summary.put("mean", round(histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000));
+        return summary;
+    }
+
+    private static String key(Operation operation) {
+        return operation.name().toLowerCase();
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double percent(JsonNode before, JsonNode after) {
+        double base = before.asDouble();
+        return base == 0 ? 0 : round((after.asDouble() - base) / base * 100);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
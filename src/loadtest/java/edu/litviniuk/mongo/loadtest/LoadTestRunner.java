@@ -0,0 +1,120 @@
+package edu.litviniuk.mongo.loadtest;
+
+/*
+  @author darin
+  @project mongo
+  @class LoadTestRunner
+  @version 1.0.0
+  @since 18.10.2026 - 19.40
+*/
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import edu.litviniuk.mongo.MongoApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+  Open-model load generator: requests are started at a fixed arrival rate whether or not earlier ones
+  have finished, so a slow server shows up as latency instead of a lower request rate.
+
+  mvn -Pload-test -DskipTests verify -Dloadtest.args="rate=500 duration=60s baseline=old-report.json"
+
+  Without base-url the application is started in-process and spring-boot-docker-compose brings up
+  the mongod from compose.yaml.
+*/
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.baseUrl();
+        if (baseUrl == null) {
+            List<String> appArgs = new ArrayList<>(List.of("--server.port=0", "--spring.data.mongodb.database=mongo-loadtest"));
+            appArgs.addAll(options.appArgs());
+            application = SpringApplication.run(MongoApplication.class, appArgs.toArray(String[]::new));
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            run(options, baseUrl);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        // the report is written, a non-daemon thread left by the application or by app args must not keep the JVM up
+        System.exit(0);
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        MovieTraffic traffic = new MovieTraffic(baseUrl, new ObjectMapper(), options.mix());
+        traffic.seed(client, options.seed());
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        Phaser inFlight = new Phaser(1);
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = traffic.next();
+            boolean measured = intended >= measureFrom;
+            HttpRequest request = traffic.request(operation);
+            if (request == null) {
+                if (measured) {
+                    recorder.skip(operation);
+                }
+                continue;
+            }
+            inFlight.register();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                long completed = System.nanoTime();
+                if (completed >= measureFrom && completed < end) {
+                    recorder.completedInWindow();
+                }
+                if (measured) {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(completed - intended);
+                    recorder.record(operation, micros, error == null ? response.statusCode() : -1);
+                }
+                if (error == null) {
+                    traffic.onResponse(operation, response);
+                }
+                inFlight.arriveAndDeregister();
+            });
+        }
+        inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), 1, TimeUnit.MINUTES);
+
+        LoadTestReport reports = new LoadTestReport();
+        ObjectNode report = reports.build(options, baseUrl, startedAt, recorder);
+        if (options.baseline() != null) {
+            reports.compare(report, options.baseline());
+        }
+        reports.write(report, options.report());
+        System.out.println(reports.toPrettyString(report));
+        System.out.println("Report written to " + options.report().toAbsolutePath());
+    }
+}
@@ -0,0 +1,153 @@
+package edu.litviniuk.mongo.loadtest;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieTraffic
+  @version 1.0.0
+  @since 18.10.2026 - 19.10
+*/
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.request.UpdateMovieRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// builds the requests of each operation and keeps track of the ids that currently exist
+class MovieTraffic {
+
+    private static final String[] GENRES = {"Drama", "Sci-Fi", "Crime", "Action", "Comedy"};
+    private static final int SEED_BATCH = 1000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final Operation[] schedule;
+    private final List<String> ids = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    MovieTraffic(String baseUrl, ObjectMapper objectMapper, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        this.schedule = slots.toArray(Operation[]::new);
+    }
+
+    // inserted through the batch endpoint before the clock starts
+    void seed(HttpClient client, int count) throws IOException, InterruptedException {
+        for (int created = 0; created < count; created += SEED_BATCH) {
+            List<CreateMovieRequest> batch = new ArrayList<>();
+            for (int i = 0; i < Math.min(SEED_BATCH, count - created); i++) {
+                batch.add(newMovie());
+            }
+            HttpResponse<String> response = client.send(json("POST", "/api/v1/movies/api-response/batch", batch),
+                    HttpResponse.BodyHandlers.ofString());
+            for (JsonNode item : objectMapper.readTree(response.body()).path("data")) {
+                if (item.hasNonNull("id")) {
+                    addId(item.get("id").asText());
+                }
+            }
+        }
+    }
+
+    Operation next() {
+        return schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+    }
+
+    // null when the operation needs an existing movie and there is none left
+    HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case LIST -> builder("/api/v1/movies/api-response?view=summary&limit=50").GET().build();
+            case PLAIN_LIST -> builder("/api/v1/movies?limit=50").GET().build();
+            case READ -> {
+                String id = randomId(false);
+                yield id == null ? null : builder("/api/v1/movies/api-response/" + id).GET().build();
+            }
+            case CREATE -> json("POST", "/api/v1/movies/api-response", newMovie());
+            case UPDATE -> {
+                String id = randomId(false);
+                yield id == null ? null : json("PUT", "/api/v1/movies/api-response",
+                        new UpdateMovieRequest(id, title(), "Updated by load test", randomGenre()));
+            }
+            case DELETE -> {
+                String id = randomId(true);
+                yield id == null ? null : builder("/api/v1/movies/api-response/" + id).DELETE().build();
+            }
+        };
+    }
+
+    // created ids join the pool so reads and updates also hit fresh documents
+    void onResponse(Operation operation, HttpResponse<String> response) {
+        if (operation != Operation.CREATE || response.statusCode() != 201) {
+            return;
+        }
+        try {
+            addId(objectMapper.readTree(response.body()).path("data").path(0).path("id").asText());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private HttpRequest json(String method, String path, Object body) {
+        try {
+            return builder(path)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CreateMovieRequest newMovie() {
+        return new CreateMovieRequest(title(), "Created by load test", randomGenre());
+    }
+
+    private String title() {
+        return "Load " + runId + "-" + sequence.incrementAndGet();
+    }
+
+    private static String randomGenre() {
+        return GENRES[ThreadLocalRandom.current().nextInt(GENRES.length)];
+    }
+
+    private synchronized void addId(String id) {
+        ids.add(id);
+    }
+
+    // swap-remove keeps deletes O(1)
+    private synchronized String randomId(boolean remove) {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        int index = ThreadLocalRandom.current().nextInt(ids.size());
+        String id = ids.get(index);
+        if (remove) {
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+        }
+        return id;
+    }
+}
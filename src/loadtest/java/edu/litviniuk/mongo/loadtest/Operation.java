@@ -0,0 +1,19 @@
+package edu.litviniuk.mongo.loadtest;
+
+/*
+  @author darin
+  @project mongo
+  @class Operation
+  @version 1.0.0
+  @since 18.10.2026 - 19.00
+*/
+
+enum Operation {
+    READ,
+    LIST,
+    // GET /api/v1/movies, full documents and the next cursor in a header
+    PLAIN_LIST,
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,90 @@
+package edu.litviniuk.mongo.admission;
+
+/*
+  @author darin
+  @project mongo
+  @class AdaptiveConcurrencyLimit
+  @version 1.0.0
+  @since 18.10.2026 - 23.15
+*/
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+// AIMD limit on requests in flight. Every Mongo latency sample under the target grows the limit by
+// 1/limit (about +1 per limit's worth of requests) while it is actually being used; a slow or
+// failed sample multiplies it by backoffRatio, at most once per cooldown so one slow burst of
+// commands counts as one congestion signal instead of collapsing the limit to the minimum.
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatency;
+    private final double backoffRatio;
+    private final long cooldown;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // the limit is fractional between increases, kept as double bits
+    private final AtomicLong limit;
+    private final AtomicLong lastDecrease;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration targetLatency,
+                                    double backoffRatio, Duration cooldown) {
+        if (minLimit < 1 || minLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatency = targetLatency.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.cooldown = cooldown.toNanos();
+        this.limit = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(initialLimit, maxLimit))));
+        this.lastDecrease = new AtomicLong(System.nanoTime() - this.cooldown);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void onSample(long latencyNanos, boolean dropped) {
+        onSample(latencyNanos, dropped, System.nanoTime());
+    }
+
+    void onSample(long latencyNanos, boolean dropped, long now) {
+        if (dropped || latencyNanos > targetLatency) {
+            long last = lastDecrease.get();
+            if (now - last >= cooldown && lastDecrease.compareAndSet(last, now)) {
+                update(current -> Math.max(minLimit, current * backoffRatio));
+            }
+        } else if (inFlight.get() * 2 >= getLimit()) {
+            // no point raising a limit nobody comes close to
+            update(current -> Math.min(maxLimit, current + 1 / current));
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(DoubleUnaryOperator change) {
+        limit.updateAndGet(bits -> Double.doubleToLongBits(change.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
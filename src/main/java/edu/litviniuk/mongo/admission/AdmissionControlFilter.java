@@ -0,0 +1,94 @@
+package edu.litviniuk.mongo.admission;
+
+/*
+  @author darin
+  @project mongo
+  @class AdmissionControlFilter
+  @version 1.0.0
+  @since 18.10.2026 - 23.25
+*/
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// sheds load before a request reaches a controller or waits on the Mongo pool: first the caller's
+// own rate (429), then the global concurrency limit (503). Both answer in the ApiResponse format
+// with Retry-After. Streaming exports hand off to an async thread, so they hold a slot only until
+// the response starts.
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final String clientHeader;
+    private final ObjectMapper objectMapper;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public AdmissionControlFilter(ClientRateLimiter rateLimiter, AdaptiveConcurrencyLimit concurrencyLimit,
+                                  String clientHeader, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+        this.clientHeader = clientHeader;
+        this.objectMapper = objectMapper;
+        this.rateLimited = rejectedCounter(meterRegistry, "rate");
+        this.overloaded = rejectedCounter(meterRegistry, "overload");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = rateLimiter.tryAcquire(clientId(request));
+        if (wait > 0) {
+            rateLimited.increment();
+            reject(response, 429, "Too many requests", TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999));
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            overloaded.increment();
+            reject(response, 503, "Server is overloaded", 1);
+            return;
+        }
+        MongoLatencyListener.enterRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MongoLatencyListener.exitRequest();
+            concurrencyLimit.release();
+        }
+    }
+
+    // the header is trusted, these endpoints are only reachable by our own services
+    private String clientId(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+        return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+
+    private void reject(HttpServletResponse response, int code, String message, long retryAfterSeconds) throws IOException {
+        response.setStatus(code);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<BaseMetaData, Void>(
+                BaseMetaData.builder().code(code).success(false).errorMessage(message).build()
+        ));
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("movies.admission.rejected")
+                .description("Requests shed before reaching a controller")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,57 @@
+package edu.litviniuk.mongo.admission;
+
+/*
+  @author darin
+  @project mongo
+  @class ClientRateLimiter
+  @version 1.0.0
+  @since 18.10.2026 - 23.10
+*/
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// per-client token bucket in GCRA form: the whole bucket is one theoretical arrival time, moved
+// forward by a CAS, so no locks and no refill thread. Idle clients fall out of the cache, which
+// is the same as a full bucket once they have been away longer than a burst takes to refill.
+public class ClientRateLimiter {
+
+    private final long emissionInterval;
+    private final long tolerance;
+    private final Cache<String, AtomicLong> buckets;
+
+    public ClientRateLimiter(double ratePerSecond, int burst, long maxClients, Duration idleTimeout) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionInterval = (long) (1_000_000_000L / ratePerSecond);
+        this.tolerance = emissionInterval * burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    // 0 when admitted, otherwise how many nanos until this client may send again
+    public long tryAcquire(String client) {
+        return tryAcquire(client, System.nanoTime());
+    }
+
+    long tryAcquire(String client, long now) {
+        AtomicLong arrival = buckets.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionInterval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
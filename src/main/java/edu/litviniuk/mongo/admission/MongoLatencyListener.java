@@ -0,0 +1,78 @@
+package edu.litviniuk.mongo.admission;
+
+/*
+  @author darin
+  @project mongo
+  @class MongoLatencyListener
+  @version 1.0.0
+  @since 18.10.2026 - 23.20
+*/
+
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import java.util.concurrent.TimeUnit;
+
+// feeds the concurrency limit: command round trips show a slow server, checkout waits show a
+// saturated pool (commands only start once they hold a connection, so they never see that wait).
+// getMore is skipped, export cursors and change streams legitimately block on it.
+// Only work done on a thread inside AdmissionControlFilter counts: the sync driver reports on the
+// calling thread, so history writes, ingest flushes, imports and snapshot reloads on their own
+// threads never shrink the limit that guards requests.
+public class MongoLatencyListener implements CommandListener, ConnectionPoolListener {
+
+    private static final ThreadLocal<Boolean> REQUEST_PATH = new ThreadLocal<>();
+
+    private final AdaptiveConcurrencyLimit limit;
+
+    static void enterRequest() {
+        REQUEST_PATH.set(Boolean.TRUE);
+    }
+
+    static void exitRequest() {
+        REQUEST_PATH.remove();
+    }
+
+    private static boolean onRequestPath() {
+        return REQUEST_PATH.get() != null;
+    }
+
+    public MongoLatencyListener(AdaptiveConcurrencyLimit limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        if (onRequestPath() && !"getMore".equals(event.getCommandName())) {
+            limit.onSample(event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Throwable error = event.getThrowable();
+        if (onRequestPath() && (error instanceof MongoTimeoutException || error instanceof MongoSocketException)) {
+            limit.onSample(event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+        }
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        if (onRequestPath()) {
+            limit.onSample(event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+        }
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        if (onRequestPath()) {
+            limit.onSample(event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package edu.litviniuk.mongo.cache;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieCache
+  @version 1.0.0
+  @since 18.10.2026 - 12.30
+*/
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.response.CacheStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+@Profile("!reactive")
+public class MovieCache implements MeterBinder {
+
+    // null when movies.cache.enabled=false, every lookup then goes straight to the loader
+    private final Cache<String, MovieModel> cache;
+
+    public MovieCache(MovieProperties movieProperties) {
+        MovieProperties.Cache properties = movieProperties.getCache();
+        this.cache = properties.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getMaximumSize())
+                        .expireAfterWrite(properties.getTtl())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    // misses are not cached, so a movie created later is visible immediately
+    public Optional<MovieModel> get(String id, Function<String, Optional<MovieModel>> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void invalidate(String id) {
+        if (cache != null && id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "movies");
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        if (cache == null) {
+            return CacheStatsResponse.builder().enabled(false).build();
+        }
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .enabled(true)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+}
@@ -0,0 +1,389 @@
+package edu.litviniuk.mongo.cache;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieCatalogSnapshot
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieRepository;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.utils.BatchingFlusher;
+import edu.litviniuk.mongo.utils.GzipSegments;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// the whole catalog as one ApiResponse, already encoded (and gzipped) so a request only writes bytes.
+// Movies are kept in id order as segments of about segmentSize JSON fragments, each segment joined and
+// compressed on its own; writes made through MovieService re-encode only the segments they touched
+// and a new snapshot is published on one background thread, at most once per rebuildInterval.
+// Writes that bypass MovieService (other instances, the reactive profile, the shell) show up after
+// the next full reload every refreshInterval, which runs on its own thread.
+// Disabled by default, then every method is a no-op and current() stays null.
+@Slf4j
+@Component
+@Profile("!reactive")
+public class MovieCatalogSnapshot implements MeterBinder {
+
+    private final MovieRepository movieRepository;
+    private final ObjectMapper objectMapper;
+    private final MovieProperties.Snapshot properties;
+    private final int exportBatchSize;
+
+    private final BlockingQueue<Change> changes;
+    private final BatchingFlusher<Change> rebuilder;
+    private final ScheduledExecutorService refresher;
+    // set when a write did not fit into the queue, the next rebuild reloads everything instead
+    private volatile boolean reloadRequested;
+
+    // {"meta":{...},"data":[ and ]} around the segments, and the comma between two of them
+    private final Part dataStart;
+    private final Part dataEnd;
+    private final Part separator;
+
+    // lowest id when the segment was cut -> segment, only touched under this
+    private TreeMap<String, Segment> segments = new TreeMap<>();
+    private volatile Snapshot current;
+
+    private final LongAdder incrementalRebuilds = new LongAdder();
+    private final LongAdder fullRebuilds = new LongAdder();
+
+    public MovieCatalogSnapshot(MovieRepository movieRepository, MovieProperties movieProperties, ObjectMapper objectMapper) {
+        this.movieRepository = movieRepository;
+        this.objectMapper = objectMapper;
+        this.properties = movieProperties.getSnapshot();
+        this.exportBatchSize = movieProperties.getExport().getBatchSize();
+        boolean enabled = properties.isEnabled();
+        this.changes = enabled ? new LinkedBlockingQueue<>(properties.getCapacity()) : null;
+        this.rebuilder = enabled
+                ? new BatchingFlusher<>("movie-snapshot-rebuilder", changes, properties.getCapacity(),
+                        properties.getRebuildInterval(), this::apply)
+                : null;
+        // not the shared @Scheduled thread, a reload of a large catalog must not hold up other jobs
+        this.refresher = enabled
+                ? Executors.newSingleThreadScheduledExecutor(task -> {
+                    Thread thread = new Thread(task, "movie-snapshot-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        this.dataStart = enabled ? part(dataStart()) : null;
+        this.dataEnd = enabled ? part("]}".getBytes(StandardCharsets.UTF_8)) : null;
+        this.separator = enabled ? part(",".getBytes(StandardCharsets.UTF_8)) : null;
+    }
+
+    // after ApplicationRunners, so seeded and migrated movies are already in the first snapshot
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (rebuilder != null) {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                log.warn("Could not load the catalog snapshot, retrying with the next refresh", e);
+            }
+            rebuilder.start();
+            long interval = properties.getRefreshInterval().toMillis();
+            refresher.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (rebuilder != null) {
+            refresher.shutdownNow();
+            rebuilder.stop(properties.getRebuildInterval().multipliedBy(10));
+        }
+    }
+
+    public boolean isEnabled() {
+        return rebuilder != null;
+    }
+
+    // null until the first load finished
+    public Snapshot current() {
+        return current;
+    }
+
+    public void movieSaved(MovieModel movie) {
+        offer(new Change(movie.getId(), movie));
+    }
+
+    public void moviesSaved(List<MovieModel> movies) {
+        movies.forEach(this::movieSaved);
+    }
+
+    public void movieDeleted(String id) {
+        offer(new Change(id, null));
+    }
+
+    // catches whatever was written past MovieService; a throw would cancel the schedule
+    private void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the catalog snapshot, keeping the previous one", e);
+        }
+    }
+
+    // a failed load leaves the previous segments and snapshot in place
+    public synchronized void reload() {
+        TreeMap<String, Fragment> loaded = new TreeMap<>();
+        try (Stream<MovieModel> movies = movieRepository.streamAll(exportBatchSize)) {
+            movies.forEach(movie -> loaded.put(movie.getId(), encode(movie)));
+        }
+        TreeMap<String, Segment> cut = new TreeMap<>();
+        Segment segment = null;
+        for (Map.Entry<String, Fragment> fragment : loaded.entrySet()) {
+            if (segment == null || segment.fragments.size() == properties.getSegmentSize()) {
+                segment = new Segment(fragment.getKey());
+                cut.put(segment.key, segment);
+            }
+            segment.fragments.put(fragment.getKey(), fragment.getValue());
+        }
+        cut.values().forEach(this::join);
+        segments = cut;
+        fullRebuilds.increment();
+        publish();
+    }
+
+    private void offer(Change change) {
+        if (changes != null && change.id() != null && !changes.offer(change)) {
+            reloadRequested = true;
+        }
+    }
+
+    private synchronized void apply(List<Change> batch) {
+        if (reloadRequested) {
+            reloadRequested = false;
+            reload();
+            return;
+        }
+        Set<Segment> touched = new HashSet<>();
+        for (Change change : batch) {
+            // an id below every segment key goes to the first segment, which later lookups also find
+            Map.Entry<String, Segment> entry = segments.floorEntry(change.id());
+            if (entry == null) {
+                entry = segments.firstEntry();
+            }
+            if (change.movie() == null) {
+                if (entry != null && entry.getValue().fragments.remove(change.id()) != null) {
+                    touched.add(entry.getValue());
+                }
+                continue;
+            }
+            if (entry == null) {
+                segments.put(change.id(), new Segment(change.id()));
+                entry = segments.firstEntry();
+            } else if (change.id().compareTo(entry.getKey()) < 0) {
+                // a new lowest id re-keys the first segment, so a later cut of it cannot reuse its key
+                // and its key stays below every id it holds
+                Segment first = segments.remove(entry.getKey());
+                first.key = change.id();
+                segments.put(first.key, first);
+                entry = segments.firstEntry();
+            }
+            // concurrent writers may enqueue out of order, an older version never replaces a newer one
+            Segment segment = entry.getValue();
+            Fragment existing = segment.fragments.get(change.id());
+            Long version = change.movie().getVersion();
+            if (existing == null || existing.version() == null || version == null || version >= existing.version()) {
+                segment.fragments.put(change.id(), encode(change.movie()));
+                touched.add(segment);
+            }
+        }
+        for (Segment segment : touched) {
+            rebuild(segment);
+        }
+        incrementalRebuilds.increment();
+        publish();
+    }
+
+    // empty segments are dropped and oversized ones cut again, so no segment grows without bound.
+    // The tails are cut at ids above the segment's key, which is never above its lowest id
+    private void rebuild(Segment segment) {
+        if (segment.fragments.isEmpty()) {
+            segments.remove(segment.key);
+            return;
+        }
+        if (segment.fragments.size() > 2 * properties.getSegmentSize()) {
+            List<String> ids = new ArrayList<>(segment.fragments.keySet());
+            for (int i = ids.size() / properties.getSegmentSize() * properties.getSegmentSize(); i > 0;
+                 i -= properties.getSegmentSize()) {
+                if (i == ids.size()) {
+                    continue;
+                }
+                Segment tail = new Segment(ids.get(i));
+                tail.fragments.putAll(segment.fragments.tailMap(tail.key, true));
+                segment.fragments.tailMap(tail.key, true).clear();
+                segments.put(tail.key, tail);
+                join(tail);
+            }
+        }
+        join(segment);
+    }
+
+    private void join(Segment segment) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        boolean first = true;
+        for (Fragment fragment : segment.fragments.values()) {
+            if (!first) {
+                json.write(',');
+            }
+            first = false;
+            json.writeBytes(fragment.json());
+        }
+        segment.part = part(json.toByteArray());
+    }
+
+    // only the part list is new, the bytes of untouched segments are shared with the previous snapshot
+    private void publish() {
+        List<Part> parts = new ArrayList<>(2 * segments.size() + 1);
+        parts.add(dataStart);
+        int size = 0;
+        for (Segment segment : segments.values()) {
+            if (size > 0) {
+                parts.add(separator);
+            }
+            parts.add(segment.part);
+            size += segment.fragments.size();
+        }
+        parts.add(dataEnd);
+
+        long length = 0;
+        long gzipLength = GzipSegments.HEADER.length + GzipSegments.FINISH.length + 8;
+        long crc = 0;
+        for (Part part : parts) {
+            crc = GzipSegments.crc32Combine(crc, part.crc(), part.json().length);
+            length += part.json().length;
+            gzipLength += part.gzip() == null ? 0 : part.gzip().length;
+        }
+        current = new Snapshot(size, length, properties.isGzip() ? gzipLength : -1, crc, List.copyOf(parts));
+    }
+
+    private Part part(byte[] json) {
+        return new Part(json, properties.isGzip() ? GzipSegments.deflate(json) : null, GzipSegments.crc32(json));
+    }
+
+    private byte[] dataStart() {
+        try {
+            String meta = objectMapper.writeValueAsString(BaseMetaData.builder().build());
+            return ("{\"meta\":" + meta + ",\"data\":[").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Fragment encode(MovieModel movie) {
+        try {
+            return new Fragment(movie.getVersion(), objectMapper.writeValueAsBytes(movie));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (rebuilder == null) {
+            return;
+        }
+        Gauge.builder("movies.snapshot.movies", this, snapshot -> snapshot.current == null ? 0 : snapshot.current.size())
+                .description("Movies in the current catalog snapshot")
+                .register(registry);
+        Gauge.builder("movies.snapshot.bytes", this, snapshot -> snapshot.current == null ? 0 : snapshot.current.length())
+                .description("Encoded size of the current catalog snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("movies.snapshot.flush.failures", rebuilder, BatchingFlusher::getFailures)
+                .description("Snapshot rebuilds that threw, the next rebuild or reload catches up")
+                .register(registry);
+        Gauge.builder("movies.snapshot.pending", changes, BlockingQueue::size)
+                .description("Writes waiting for the next snapshot rebuild")
+                .register(registry);
+        for (Map.Entry<String, LongAdder> rebuilds : Map.of("incremental", incrementalRebuilds, "full", fullRebuilds).entrySet()) {
+            FunctionCounter.builder("movies.snapshot.rebuilds", rebuilds.getValue(), LongAdder::sum)
+                    .tag("kind", rebuilds.getKey())
+                    .register(registry);
+        }
+    }
+
+    // the body is the parts back to back, lengths are long so a catalog past 2 GB is still one response.
+    // gzipLength is -1 when movies.snapshot.gzip=false; parts are never modified after publish
+    public record Snapshot(int size, long length, long gzipLength, long crc, List<Part> parts) {
+
+        public boolean hasGzip() {
+            return gzipLength >= 0;
+        }
+
+        // CRC32 and length of the uncompressed body, fixed width so no two pairs give the same tag
+        public String tag() {
+            return "%08x%016x".formatted(crc, length);
+        }
+
+        public void writeTo(OutputStream out, boolean gzip) throws IOException {
+            if (gzip) {
+                out.write(GzipSegments.HEADER);
+            }
+            for (Part part : parts) {
+                out.write(gzip ? part.gzip() : part.json());
+            }
+            if (gzip) {
+                out.write(GzipSegments.FINISH);
+                out.write(GzipSegments.trailer(crc, length));
+            }
+        }
+    }
+
+    // gzip is the sync-flushed raw deflate of json, null when movies.snapshot.gzip=false
+    public record Part(byte[] json, byte[] gzip, long crc) {
+    }
+
+    // movie null means deleted
+    private record Change(String id, MovieModel movie) {
+    }
+
+    private record Fragment(Long version, byte[] json) {
+    }
+
+    // key is the segment's key in segments, at or below its lowest id; deletes may leave it below
+    private static class Segment {
+        private String key;
+        private final TreeMap<String, Fragment> fragments = new TreeMap<>();
+        private Part part;
+
+        private Segment(String key) {
+            this.key = key;
+        }
+    }
+}
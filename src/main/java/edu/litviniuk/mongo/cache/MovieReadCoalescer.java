@@ -0,0 +1,67 @@
+package edu.litviniuk.mongo.cache;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieReadCoalescer
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.utils.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// identical reads that arrive while the same query is running wait for it instead of sending their
+// own. Results are shared between callers and must not be modified. Every key carries the write
+// generation, so a read that starts after a write never joins a query issued before it.
+@Component
+@Profile("!reactive")
+public class MovieReadCoalescer implements MeterBinder {
+
+    private final SingleFlight<Key, Optional<MovieModel>> single = new SingleFlight<>();
+    private final SingleFlight<Key, List<MovieModel>> lists = new SingleFlight<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public Optional<MovieModel> findOne(Object key, Supplier<Optional<MovieModel>> loader) {
+        return single.execute(new Key(generation.get(), key), loader);
+    }
+
+    public List<MovieModel> findList(Object key, Supplier<List<MovieModel>> loader) {
+        return lists.execute(new Key(generation.get(), key), loader);
+    }
+
+    // called once a write is done, later reads then start a fresh query
+    public void writeCompleted() {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "single", single);
+        register(registry, "list", lists);
+    }
+
+    private static void register(MeterRegistry registry, String read, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("movies.reads.executed", flight, SingleFlight::getExecuted)
+                .description("Reads that sent their own Mongo query")
+                .tag("read", read)
+                .register(registry);
+        FunctionCounter.builder("movies.reads.coalesced", flight, SingleFlight::getCoalesced)
+                .description("Reads that shared the result of an identical query already in flight")
+                .tag("read", read)
+                .register(registry);
+    }
+
+    private record Key(long generation, Object read) {
+    }
+}
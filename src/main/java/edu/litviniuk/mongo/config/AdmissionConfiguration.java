@@ -0,0 +1,75 @@
+package edu.litviniuk.mongo.config;
+
+/*
+  @author darin
+  @project mongo
+  @class AdmissionConfiguration
+  @version 1.0.0
+  @since 18.10.2026 - 23.30
+*/
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.litviniuk.mongo.admission.AdaptiveConcurrencyLimit;
+import edu.litviniuk.mongo.admission.AdmissionControlFilter;
+import edu.litviniuk.mongo.admission.ClientRateLimiter;
+import edu.litviniuk.mongo.admission.MongoLatencyListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+@Profile("!reactive")
+@Configuration
+@ConditionalOnProperty(prefix = "movies.admission", name = "enabled", havingValue = "true")
+public class AdmissionConfiguration {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(MovieProperties movieProperties) {
+        MovieProperties.Admission admission = movieProperties.getAdmission();
+        return new ClientRateLimiter(admission.getRate(), admission.getBurst(),
+                admission.getMaxClients(), admission.getClientIdleTimeout());
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(MovieProperties movieProperties, MeterRegistry meterRegistry) {
+        MovieProperties.Admission admission = movieProperties.getAdmission();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(admission.getInitialLimit(),
+                admission.getMinLimit(), admission.getMaxLimit(), admission.getTargetLatency(),
+                admission.getBackoffRatio(), admission.getBackoffCooldown());
+        Gauge.builder("movies.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("movies.admission.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Admitted requests still running")
+                .register(meterRegistry);
+        return limit;
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoLatencyCustomizer(AdaptiveConcurrencyLimit limit) {
+        MongoLatencyListener listener = new MongoLatencyListener(limit);
+        return builder -> builder.addCommandListener(listener)
+                .applyToConnectionPoolSettings(settings -> settings.addConnectionPoolListener(listener));
+    }
+
+    // ahead of Spring MVC, so a shed request costs a header lookup and a CAS; behind the
+    // http.server.requests observation filter, so shed requests still show up there
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(ClientRateLimiter rateLimiter,
+                                                                                 AdaptiveConcurrencyLimit limit,
+                                                                                 MovieProperties movieProperties,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(rateLimiter, limit, movieProperties.getAdmission().getClientHeader(),
+                        objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/v1/movies/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
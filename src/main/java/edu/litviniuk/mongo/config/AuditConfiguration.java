@@ -10,11 +10,13 @@ package edu.litviniuk.mongo.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 
 @EnableMongoAuditing
 @Configuration
+@Profile("!reactive")
 public class AuditConfiguration {
     @Bean
     public AuditorAware<String> auditorAware() {
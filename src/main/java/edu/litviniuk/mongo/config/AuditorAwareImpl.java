@@ -13,8 +13,12 @@ import org.springframework.data.domain.AuditorAware;
 import java.util.Optional;
 
 public class AuditorAwareImpl  implements AuditorAware<String> {
+
+    // the process user does not change, so it is looked up once instead of on every write
+    private final Optional<String> auditor = Optional.ofNullable(System.getProperty("user.name"));
+
     @Override
     public Optional<String> getCurrentAuditor() {
-        return Optional.of(System.getProperty("user.name"));
+        return auditor;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package edu.litviniuk.mongo.config;
+
+/*
+  @author darin
+  @project mongo
+  @class BinaryFormatConfiguration
+  @version 1.0.0
+  @since 18.10.2026 - 22.40
+*/
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Accept / Content-Type application/cbor or application/x-jackson-smile for internal callers.
+// Spring MVC would add both converters on its own, but with a plain mapper; these are built from
+// Boot's builder so modules and spring.jackson.* settings match the JSON output. They replace the
+// defaults in place, after the JSON converter, so JSON stays what */* and a missing Accept get.
+@Profile("!reactive")
+@Configuration
+public class BinaryFormatConfiguration {
+
+    // the builder bean is prototype scoped, each converter gets its own copy
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
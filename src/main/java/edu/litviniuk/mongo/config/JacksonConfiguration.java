@@ -0,0 +1,36 @@
+package edu.litviniuk.mongo.config;
+
+/*
+  @author darin
+  @project mongo
+  @class JacksonConfiguration
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.utils.MovieFields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// MovieModel gets its filter through a mix-in on Spring's mappers only (MVC, WebFlux, CBOR/Smile), a plain
+// ObjectMapper keeps working without a filter provider. By default the filter writes every property,
+// projected responses swap it per response (MovieFields.body).
+@Configuration
+public class JacksonConfiguration {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer movieFieldsFilterCustomizer() {
+        return builder -> builder
+                .mixIn(MovieModel.class, MovieFieldsMixIn.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @JsonFilter(MovieFields.FILTER)
+    private interface MovieFieldsMixIn {
+    }
+}
@@ -0,0 +1,26 @@
+package edu.litviniuk.mongo.config;
+
+/*
+  @author darin
+  @project mongo
+  @class MongoMetricsConfiguration
+  @version 1.0.0
+  @since 18.10.2026 - 17.35
+*/
+
+import edu.litviniuk.mongo.metrics.MongoCheckoutMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// per-command latency and pool gauges come from Boot's MongoMetricsAutoConfiguration,
+// this adds the checkout wait time on top
+@Configuration
+public class MongoMetricsConfiguration {
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCheckoutMetricsCustomizer(MeterRegistry meterRegistry) {
+        MongoCheckoutMetricsListener listener = new MongoCheckoutMetricsListener(meterRegistry);
+        return builder -> builder.applyToConnectionPoolSettings(settings -> settings.addConnectionPoolListener(listener));
+    }
+}
@@ -0,0 +1,30 @@
+package edu.litviniuk.mongo.config;
+
+/*
+  @author darin
+  @project mongo
+  @class MongoPoolConfiguration
+  @version 1.0.0
+  @since 18.10.2026 - 16.10
+*/
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+// applied to both the blocking and the reactive MongoClient
+@Configuration
+public class MongoPoolConfiguration {
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(MovieProperties movieProperties) {
+        MovieProperties.Mongo.Pool pool = movieProperties.getMongo().getPool();
+        return builder -> builder.applyToConnectionPoolSettings(settings -> settings
+                .maxSize(pool.getMaxSize())
+                .minSize(pool.getMinSize())
+                .maxConnecting(pool.getMaxConnecting())
+                .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,179 @@
+package edu.litviniuk.mongo.config;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieProperties
+  @version 1.0.0
+  @since 18.10.2026 - 10.05
+*/
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "movies")
+public class MovieProperties {
+
+    private Page page = new Page();
+    private Export export = new Export();
+    private Batch batch = new Batch();
+    private History history = new History();
+    private Cache cache = new Cache();
+    private Mongo mongo = new Mongo();
+    private Search search = new Search();
+    private Ingest ingest = new Ingest();
+    private Seed seed = new Seed();
+    private Admission admission = new Admission();
+    private Changes changes = new Changes();
+    private Snapshot snapshot = new Snapshot();
+    private FileImport fileImport = new FileImport();
+
+    @Data
+    public static class Page {
+        private int defaultSize = 50;
+        private int maxSize = 500;
+
+        public int resolveSize(Integer limit) {
+            if (limit == null) {
+                return defaultSize;
+            }
+            if (limit < 1) {
+                throw new IllegalArgumentException("Limit must be positive");
+            }
+            return Math.min(limit, maxSize);
+        }
+    }
+
+    @Data
+    public static class Export {
+        private int batchSize = 1000;
+        // only the export runs this long, other async requests keep the container default
+        private Duration timeout = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Batch {
+        private int maxSize = 1000;
+    }
+
+    @Data
+    public static class History {
+        // entries waiting for the writer, beyond this callers insert their entry themselves
+        private int capacity = 10_000;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofSeconds(1);
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+        // a failed batch insert is tried again this many times, waiting retryBackoff and doubling
+        private int flushRetries = 5;
+        private Duration retryBackoff = Duration.ofMillis(200);
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Search {
+        // skip grows linearly with the page number, so deep pages are refused
+        private int maxOffset = 10_000;
+    }
+
+    @Data
+    public static class Ingest {
+        private boolean enabled = false;
+        // requests queued or being flushed, beyond this new ones get 429
+        private int capacity = 10_000;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofMillis(200);
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Seed {
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Admission {
+        private boolean enabled = false;
+        // names the calling service, without it the remote address is the client
+        private String clientHeader = "X-Client-Id";
+        // sustained requests per second per client, and how many may arrive back to back
+        private double rate = 100;
+        private int burst = 200;
+        private long maxClients = 100_000;
+        private Duration clientIdleTimeout = Duration.ofMinutes(10);
+        private int initialLimit = 50;
+        private int minLimit = 5;
+        private int maxLimit = 200;
+        // a Mongo command or pool checkout slower than this shrinks the concurrency limit
+        private Duration targetLatency = Duration.ofMillis(50);
+        private double backoffRatio = 0.9;
+        private Duration backoffCooldown = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class Changes {
+        private boolean enabled = false;
+        // recent events kept for clients reconnecting with Last-Event-ID
+        private int replaySize = 1000;
+        // events waiting for one slow client, beyond this it is disconnected and has to resume
+        private int subscriberBacklog = 256;
+        private int senderThreads = 4;
+        private Duration heartbeat = Duration.ofSeconds(15);
+        private Duration emitterTimeout = Duration.ofMinutes(30);
+        private Duration retryDelay = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Snapshot {
+        private boolean enabled = false;
+        private boolean gzip = true;
+        // writes arriving within this window are folded into one rebuild
+        private Duration rebuildInterval = Duration.ofMillis(100);
+        // full reload from Mongo, picks up writes that did not go through MovieService
+        private Duration refreshInterval = Duration.ofMinutes(5);
+        // writes waiting for a rebuild, beyond this the next rebuild is a full reload
+        private int capacity = 10_000;
+        // movies per separately encoded part of the body, a write re-encodes only the part it falls into
+        private int segmentSize = 1000;
+    }
+
+    @Data
+    public static class FileImport {
+        // .csv with a header row or .ndjson/.jsonl, imported at startup when set
+        private String file;
+        // workers parsing chunks and writing their batches at the same time
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int batchSize = 1000;
+        // bytes handed to one worker, cut at a line break
+        private int chunkSize = 1 << 20;
+        // continue from the last checkpoint of the same file instead of starting over
+        private boolean resume = true;
+        private Duration progressInterval = Duration.ofSeconds(10);
+        // close the application once the import finished, so it runs as a one-off command
+        private boolean exitWhenDone = true;
+    }
+
+    @Data
+    public static class Mongo {
+        private Pool pool = new Pool();
+
+        @Data
+        public static class Pool {
+            private int maxSize = 100;
+            private int minSize = 0;
+            private int maxConnecting = 2;
+            private Duration maxWaitTime = Duration.ofMinutes(2);
+            private Duration maxConnectionIdleTime = Duration.ZERO;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package edu.litviniuk.mongo.config;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveAuditConfiguration
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+import reactor.core.publisher.Mono;
+
+// AuditConfiguration needs the blocking MongoTemplate, which the "reactive" profile does not create
+@EnableReactiveMongoAuditing
+@Configuration
+@Profile("reactive")
+public class ReactiveAuditConfiguration {
+    @Bean
+    public ReactiveAuditorAware<String> reactiveAuditorAware() {
+        AuditorAwareImpl auditorAware = new AuditorAwareImpl();
+        return () -> Mono.justOrEmpty(auditorAware.getCurrentAuditor());
+    }
+}
@@ -0,0 +1,24 @@
+package edu.litviniuk.mongo.config;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveServerConfiguration
+  @version 1.0.0
+  @since 18.10.2026 - 15.50
+*/
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// Tomcat is on the classpath for the servlet stack, so pick Reactor Netty explicitly for the reactive one
+@Profile("reactive")
+@Configuration
+public class ReactiveServerConfiguration {
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,18 @@
+package edu.litviniuk.mongo.config;
+
+/*
+  @author darin
+  @project mongo
+  @class SchedulingConfiguration
+  @version 1.0.0
+  @since 18.10.2026 - 18.25
+*/
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// background jobs such as the genre stats rebuild; each job's cron defaults to "-" (disabled)
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
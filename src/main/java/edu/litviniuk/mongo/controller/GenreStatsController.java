@@ -0,0 +1,41 @@
+package edu.litviniuk.mongo.controller;
+
+/*
+  @author darin
+  @project mongo
+  @class GenreStatsController
+  @version 1.0.0
+  @since 18.10.2026 - 18.30
+*/
+
+import edu.litviniuk.mongo.model.GenreStatsModel;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.service.GenreStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/movies/stats")
+@RequiredArgsConstructor
+public class GenreStatsController {
+
+    private final GenreStatsService genreStatsService;
+
+    @GetMapping("/genres")
+    public ResponseEntity<ApiResponse<BaseMetaData, GenreStatsModel>> getGenreStats() {
+        return ResponseEntity.ok(genreStatsService.getGenreStatsApiResponse());
+    }
+
+    // returns the genres whose movie count had drifted, with the corrected value
+    @PostMapping("/genres/rebuild")
+    public ResponseEntity<ApiResponse<BaseMetaData, GenreStatsModel>> rebuildGenreStats() {
+        return ResponseEntity.ok(genreStatsService.rebuildApiResponse());
+    }
+}
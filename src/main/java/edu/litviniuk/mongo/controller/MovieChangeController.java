@@ -0,0 +1,39 @@
+package edu.litviniuk.mongo.controller;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieChangeController
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.service.MovieChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "movies.changes", name = "enabled", havingValue = "true")
+@RequestMapping("/api/v1/movies")
+@RequiredArgsConstructor
+public class MovieChangeController {
+
+    private final MovieChangeFeed movieChangeFeed;
+
+    // events named create / update / delete with the resume token as id; EventSource sends
+    // Last-Event-ID on reconnect by itself, other clients can pass it the same way
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) String genre,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return movieChangeFeed.subscribe(genre, lastEventId);
+    }
+}
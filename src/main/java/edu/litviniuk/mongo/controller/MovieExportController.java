@@ -0,0 +1,40 @@
+package edu.litviniuk.mongo.controller;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieExportController
+  @version 1.0.0
+  @since 18.10.2026 - 11.10
+*/
+
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.service.MovieExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/movies")
+@RequiredArgsConstructor
+public class MovieExportController {
+
+    private final MovieExportService movieExportService;
+    private final MovieProperties movieProperties;
+
+    // written on an MVC async thread, the timeout applies to this request only
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportMovies(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(movieProperties.getExport().getTimeout().toMillis(), () -> {
+            movieExportService.exportMovies(response.getOutputStream());
+            return null;
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package edu.litviniuk.mongo.controller;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieIngestController
+  @version 1.0.0
+  @since 18.10.2026 - 20.20
+*/
+
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.service.MovieIngestQueue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "movies.ingest", name = "enabled", havingValue = "true")
+@RequestMapping("/api/v1/movies")
+@RequiredArgsConstructor
+public class MovieIngestController {
+
+    private final MovieIngestQueue movieIngestQueue;
+
+    // 202 once queued; the movies appear after the next flush, duplicates are dropped there
+    @PostMapping("/api-response/ingest")
+    public ResponseEntity<ApiResponse<BaseMetaData, Void>> ingestMoviesApi(@RequestBody List<CreateMovieRequest> requests) {
+        ApiResponse<BaseMetaData, Void> response = movieIngestQueue.enqueueApiResponse(requests);
+        return ResponseEntity.status(response.getMeta().getCode()).body(response);
+    }
+}
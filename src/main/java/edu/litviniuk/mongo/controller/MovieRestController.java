@@ -8,52 +8,106 @@ package edu.litviniuk.mongo.controller;
   @since 17.04.2025 - 18.41
 */
 
+import edu.litviniuk.mongo.model.MovieHistoryModel;
 import edu.litviniuk.mongo.model.MovieModel;
 import edu.litviniuk.mongo.request.CreateMovieRequest;
 import edu.litviniuk.mongo.request.UpdateMovieRequest;
 import edu.litviniuk.mongo.response.ApiResponse;
 import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.response.BatchItemStatus;
+import edu.litviniuk.mongo.response.CacheStatsResponse;
+import edu.litviniuk.mongo.service.MovieHistoryService;
 import edu.litviniuk.mongo.service.MovieService;
+import edu.litviniuk.mongo.utils.ETags;
+import edu.litviniuk.mongo.utils.MovieFields;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/movies")
 @RequiredArgsConstructor
 public class MovieRestController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final MovieService movieService;
+    private final MovieHistoryService movieHistoryService;
 
     @GetMapping
-    public List<MovieModel> getAllMovies() {
-        return movieService.getAllMovies();
+    public ResponseEntity<?> getAllMovies(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String sort,
+                                          @RequestParam(required = false) String fields,
+                                          @RequestParam(required = false) String view) {
+        ApiResponse<BaseMetaData, MovieModel> page = movieService.getAllMoviesApiResponse(cursor, limit, sort, fields, view);
+        if (!page.getMeta().isSuccess()) {
+            return ResponseEntity.status(page.getMeta().getCode()).body(page.getMeta().getErrorMessage());
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getMeta().getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getMeta().getNextCursor());
+        }
+        return response.body(MovieFields.body(page.getData(), MovieFields.isProjected(fields, view)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MovieModel> getMovieById(@PathVariable String id) {
-        MovieModel movie = movieService.getMovieById(Integer.parseInt(id));
-        return movie != null ? ResponseEntity.ok(movie) : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    public ResponseEntity<MovieModel> getMovieById(@PathVariable String id, WebRequest webRequest) {
+        MovieModel movie = movieService.getMovieById(id);
+        if (movie == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        if (isNotModified(webRequest, movie)) {
+            return null;
+        }
+        return withETag(ResponseEntity.ok(), movie).body(movie);
     }
 
 
     @PostMapping
-    public MovieModel addMovie(@RequestBody MovieModel movie) {
-        return movieService.addMovie(movie);
+    public ResponseEntity<?> addMovie(@RequestBody MovieModel movie) {
+        try {
+            return ResponseEntity.ok(movieService.addMovie(movie));
+        } catch (IllegalArgumentException e) {
+            if (e.getMessage().equals("Movie id already exists")) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+            }
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        }
     }
 
     @PutMapping("/{id}")
-    public MovieModel updateMovie(@PathVariable String id, @RequestBody MovieModel movie) {
-        movie.setId(id);
-        return movieService.updateMovie(movie);
+    public ResponseEntity<?> updateMovie(@PathVariable String id, @RequestBody MovieModel movie,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            MovieModel updated = movieService.updateMovie(id, movie, ETags.expectedVersion(ifMatch));
+            return withETag(ResponseEntity.ok(), updated).body(updated);
+        } catch (IllegalArgumentException e) {
+            if (e.getMessage().equals("Movie not found")) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            }
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMovie(@PathVariable String id) {
-        movieService.deleteMovie(Integer.parseInt(id));
+        movieService.deleteMovie(id);
         return ResponseEntity.noContent().build();
     }
 
@@ -68,15 +122,18 @@ public class MovieRestController {
     }
 
     @PutMapping("/dto")
-    public ResponseEntity<?> edit(@RequestBody UpdateMovieRequest request) {
+    public ResponseEntity<?> edit(@RequestBody UpdateMovieRequest request,
+                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            MovieModel updated = movieService.update(request);
-            return ResponseEntity.ok(updated);
+            MovieModel updated = movieService.update(request, ETags.expectedVersion(ifMatch));
+            return withETag(ResponseEntity.ok(), updated).body(updated);
         } catch (IllegalArgumentException e) {
             if (e.getMessage().equals("Movie not found")) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
             }
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
         }
     }
 
@@ -84,16 +141,54 @@ public class MovieRestController {
     // new methods with api response
 
     @GetMapping("/api-response")
-    public ApiResponse<BaseMetaData, MovieModel> getAllMoviesApi() {
-        return movieService.getAllMoviesApiResponse();
+    public ResponseEntity<?> getAllMoviesApi(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(required = false) String sort,
+                                             @RequestParam(required = false) String fields,
+                                             @RequestParam(required = false) String view) {
+        ApiResponse<BaseMetaData, MovieModel> response = movieService.getAllMoviesApiResponse(cursor, limit, sort, fields, view);
+        return ResponseEntity.status(response.getMeta().getCode())
+                .body(MovieFields.body(response, MovieFields.isProjected(fields, view)));
+    }
+
+    // meta.nextCursor holds the next page number while more results exist
+    @GetMapping("/api-response/search")
+    public ResponseEntity<?> searchMoviesApi(@RequestParam String q,
+                                             @RequestParam(required = false) String genre,
+                                             @RequestParam(required = false) Integer page,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(required = false) String fields,
+                                             @RequestParam(required = false) String view) {
+        ApiResponse<BaseMetaData, MovieModel> response = movieService.searchMoviesApiResponse(q, genre, page, limit, fields, view);
+        // search defaults to the summary view
+        boolean projected = MovieFields.isProjected(fields, view == null || view.isBlank() ? MovieFields.SUMMARY_VIEW : view);
+        return ResponseEntity.status(response.getMeta().getCode()).body(MovieFields.body(response, projected));
+    }
+
+    // ?from=2026-10-01T00:00&to=... (ISO local date-times, both optional), oldest first
+    @GetMapping("/api-response/{id}/history")
+    public ResponseEntity<ApiResponse<BaseMetaData, MovieHistoryModel>> getMovieHistoryApi(@PathVariable String id,
+                                                                                          @RequestParam(required = false) String from,
+                                                                                          @RequestParam(required = false) String to,
+                                                                                          @RequestParam(required = false) Integer limit) {
+        ApiResponse<BaseMetaData, MovieHistoryModel> response = movieHistoryService.getHistoryApiResponse(id, from, to, limit);
+        return ResponseEntity.status(response.getMeta().getCode()).body(response);
     }
 
     @GetMapping("/api-response/{id}")
-    public ResponseEntity<ApiResponse<BaseMetaData, MovieModel>> getMovieByIdApi(@PathVariable String id) {
-        ApiResponse<BaseMetaData, MovieModel> response = movieService.getMovieByIdApiResponse(id);
-        return response.getMeta().isSuccess()
-                ? ResponseEntity.ok(response)
-                : ResponseEntity.status(response.getMeta().getCode()).body(response);
+    public ResponseEntity<?> getMovieByIdApi(@PathVariable String id,
+                                             @RequestParam(required = false) String fields,
+                                             @RequestParam(required = false) String view,
+                                             WebRequest webRequest) {
+        ApiResponse<BaseMetaData, MovieModel> response = movieService.getMovieByIdApiResponse(id, fields, view);
+        if (!response.getMeta().isSuccess()) {
+            return ResponseEntity.status(response.getMeta().getCode()).body(response);
+        }
+        MovieModel movie = response.getData().get(0);
+        if (isNotModified(webRequest, movie)) {
+            return null;
+        }
+        return withETag(ResponseEntity.ok(), movie).body(MovieFields.body(response, MovieFields.isProjected(fields, view)));
     }
 
     @PostMapping("/api-response")
@@ -102,15 +197,51 @@ public class MovieRestController {
         return ResponseEntity.status(response.getMeta().getCode()).body(response);
     }
 
-    @PutMapping("/api-response")
-    public ResponseEntity<ApiResponse<BaseMetaData, MovieModel>> updateMovieApi(@RequestBody UpdateMovieRequest request) {
-        ApiResponse<BaseMetaData, MovieModel> response = movieService.updateMovieApiResponse(request);
+    @PostMapping("/api-response/batch")
+    public ResponseEntity<ApiResponse<BaseMetaData, BatchItemStatus>> createMoviesApi(@RequestBody List<CreateMovieRequest> requests) {
+        ApiResponse<BaseMetaData, BatchItemStatus> response = movieService.createMoviesApiResponse(requests);
         return ResponseEntity.status(response.getMeta().getCode()).body(response);
     }
 
+    @PutMapping("/api-response")
+    public ResponseEntity<ApiResponse<BaseMetaData, MovieModel>> updateMovieApi(@RequestBody UpdateMovieRequest request,
+                                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ApiResponse<BaseMetaData, MovieModel> response =
+                movieService.updateMovieApiResponse(request, ETags.expectedVersion(ifMatch));
+        if (!response.getMeta().isSuccess()) {
+            return ResponseEntity.status(response.getMeta().getCode()).body(response);
+        }
+        return withETag(ResponseEntity.ok(), response.getData().get(0)).body(response);
+    }
+
     @DeleteMapping("/api-response/{id}")
     public ResponseEntity<ApiResponse<BaseMetaData, Void>> deleteMovieApi(@PathVariable String id) {
         ApiResponse<BaseMetaData, Void> response = movieService.deleteMovieApiResponse(id);
         return ResponseEntity.status(response.getMeta().getCode()).body(response);
     }
+
+    @GetMapping("/cache/stats")
+    public ApiResponse<BaseMetaData, CacheStatsResponse> getCacheStats() {
+        return movieService.getCacheStatsApiResponse();
+    }
+
+    // sets 304 and the ETag header on the response when If-None-Match still matches the stored version
+    // the tag depends on the negotiated format, so caches have to key on Accept as well, 304s included
+    private boolean isNotModified(WebRequest webRequest, MovieModel movie) {
+        String etag = ETags.of(movie.getVersion(), webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (etag == null) {
+            return false;
+        }
+        if (webRequest instanceof ServletWebRequest servletWebRequest && servletWebRequest.getResponse() != null) {
+            servletWebRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return webRequest.checkNotModified(etag);
+    }
+
+    private ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, MovieModel movie) {
+        String accept = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getHeader(HttpHeaders.ACCEPT) : null;
+        String etag = ETags.of(movie.getVersion(), accept);
+        return etag == null ? builder : builder.eTag(etag).varyBy(HttpHeaders.ACCEPT);
+    }
 }
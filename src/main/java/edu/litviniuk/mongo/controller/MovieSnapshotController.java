@@ -0,0 +1,81 @@
+package edu.litviniuk.mongo.controller;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieSnapshotController
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.cache.MovieCatalogSnapshot;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "movies.snapshot", name = "enabled", havingValue = "true")
+@RequestMapping("/api/v1/movies")
+@RequiredArgsConstructor
+public class MovieSnapshotController {
+
+    private final MovieCatalogSnapshot catalogSnapshot;
+
+    // the whole catalog in one response; the parts were encoded when the catalog last changed and are
+    // written as they are, gzipped when the client accepts it. Up to rebuildInterval behind MovieService writes.
+    @GetMapping(value = "/api-response/snapshot", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getCatalogSnapshotApi(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                   WebRequest webRequest, HttpServletResponse response) throws IOException {
+        MovieCatalogSnapshot.Snapshot snapshot = catalogSnapshot.current();
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(BaseMetaData.builder().code(503).success(false)
+                            .errorMessage("Catalog snapshot is not loaded yet").build()));
+        }
+        boolean gzip = snapshot.hasGzip() && acceptsGzip(acceptEncoding);
+        // each encoding is its own representation, so it gets its own tag
+        String etag = "\"" + snapshot.tag() + (gzip ? "-gzip" : "") + "\"";
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // the parts go straight to the response, nothing joins them into one array first
+        response.setStatus(HttpStatus.OK.value());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLengthLong(gzip ? snapshot.gzipLength() : snapshot.length());
+        snapshot.writeTo(response.getOutputStream(), gzip);
+        return null;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
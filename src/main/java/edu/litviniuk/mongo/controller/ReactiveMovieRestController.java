@@ -0,0 +1,91 @@
+package edu.litviniuk.mongo.controller;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveMovieRestController
+  @version 1.0.0
+  @since 18.10.2026 - 15.25
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.request.UpdateMovieRequest;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.service.ReactiveMovieService;
+import edu.litviniuk.mongo.utils.ETags;
+import edu.litviniuk.mongo.utils.MovieFields;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/movies")
+@RequiredArgsConstructor
+public class ReactiveMovieRestController {
+
+    private final ReactiveMovieService movieService;
+
+    @GetMapping("/api-response")
+    public Mono<ResponseEntity<?>> getAllMoviesApi(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) String sort,
+                                                   @RequestParam(required = false) String fields,
+                                                   @RequestParam(required = false) String view) {
+        return movieService.getAllMoviesApiResponse(cursor, limit, sort, fields, view)
+                .map(response -> ResponseEntity.status(response.getMeta().getCode())
+                        .body(MovieFields.body(response, MovieFields.isProjected(fields, view))));
+    }
+
+    @GetMapping("/api-response/{id}")
+    public Mono<ResponseEntity<?>> getMovieByIdApi(@PathVariable String id,
+                                                   @RequestParam(required = false) String fields,
+                                                   @RequestParam(required = false) String view,
+                                                   ServerWebExchange exchange) {
+        return movieService.getMovieByIdApiResponse(id, fields, view).map(response -> {
+            if (!response.getMeta().isSuccess()) {
+                return ResponseEntity.status(response.getMeta().getCode()).body(response);
+            }
+            Object body = MovieFields.body(response, MovieFields.isProjected(fields, view));
+            String etag = ETags.of(response.getData().get(0).getVersion());
+            if (etag == null) {
+                return ResponseEntity.ok(body);
+            }
+            if (exchange.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(body);
+        });
+    }
+
+    @PostMapping("/api-response")
+    public Mono<ResponseEntity<ApiResponse<BaseMetaData, MovieModel>>> createMovieApi(@RequestBody CreateMovieRequest request) {
+        return movieService.createMovieApiResponse(request)
+                .map(response -> ResponseEntity.status(response.getMeta().getCode()).body(response));
+    }
+
+    @PutMapping("/api-response")
+    public Mono<ResponseEntity<ApiResponse<BaseMetaData, MovieModel>>> updateMovieApi(@RequestBody UpdateMovieRequest request,
+                                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return movieService.updateMovieApiResponse(request, ETags.expectedVersion(ifMatch)).map(response -> {
+            if (!response.getMeta().isSuccess()) {
+                return ResponseEntity.status(response.getMeta().getCode()).body(response);
+            }
+            String etag = ETags.of(response.getData().get(0).getVersion());
+            return etag == null ? ResponseEntity.ok(response) : ResponseEntity.ok().eTag(etag).body(response);
+        });
+    }
+
+    @DeleteMapping("/api-response/{id}")
+    public Mono<ResponseEntity<ApiResponse<BaseMetaData, Void>>> deleteMovieApi(@PathVariable String id) {
+        return movieService.deleteMovieApiResponse(id)
+                .map(response -> ResponseEntity.status(response.getMeta().getCode()).body(response));
+    }
+}
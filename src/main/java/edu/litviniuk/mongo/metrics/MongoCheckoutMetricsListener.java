@@ -0,0 +1,48 @@
+package edu.litviniuk.mongo.metrics;
+
+/*
+  @author darin
+  @project mongo
+  @class MongoCheckoutMetricsListener
+  @version 1.0.0
+  @since 18.10.2026 - 17.30
+*/
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+// how long callers wait for a pooled connection; Boot's own pool listener only exposes gauges
+public class MongoCheckoutMetricsListener implements ConnectionPoolListener {
+
+    private final Timer checkedOut;
+    private final MeterRegistry meterRegistry;
+
+    public MongoCheckoutMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.checkedOut = checkoutTimer("success");
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkedOut.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkoutTimer(event.getReason().name().toLowerCase())
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer checkoutTimer(String outcome) {
+        return Timer.builder("mongodb.driver.pool.checkout")
+                .description("Time spent waiting for a connection from the Mongo pool")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
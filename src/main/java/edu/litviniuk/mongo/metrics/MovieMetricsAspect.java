@@ -0,0 +1,98 @@
+package edu.litviniuk.mongo.metrics;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieMetricsAspect
+  @version 1.0.0
+  @since 18.10.2026 - 17.20
+*/
+
+import edu.litviniuk.mongo.response.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// times every public MovieService method and servlet endpoint, tagged with the BaseMetaData/HTTP code
+@Aspect
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class MovieMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    // one timer per method and outcome, built once instead of on every call
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * edu.litviniuk.mongo.service.MovieService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("movies.service", joinPoint);
+    }
+
+    @Around("execution(public * edu.litviniuk.mongo.controller.MovieRestController.*(..))"
+            + " || execution(public * edu.litviniuk.mongo.controller.MovieExportController.*(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("movies.controller", joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String code = "200";
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            code = codeOf(result);
+            return result;
+        } catch (Throwable e) {
+            code = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            timers.computeIfAbsent(new TimerKey(name, method, code, exception), this::timer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(TimerKey key) {
+        return Timer.builder(key.name())
+                .tag("class", key.method().getDeclaringClass().getSimpleName())
+                .tag("method", key.method().getName())
+                .tag("code", key.code())
+                .tag("exception", key.exception())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private String codeOf(Object result) {
+        if (result instanceof ApiResponse<?, ?> response && response.getMeta() != null) {
+            return String.valueOf(response.getMeta().getCode());
+        }
+        if (result instanceof ResponseEntity<?> entity) {
+            return String.valueOf(entity.getStatusCode().value());
+        }
+        // controllers return null after WebRequest.checkNotModified has already set 304
+        if (result == null && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() != null) {
+            return String.valueOf(attributes.getResponse().getStatus());
+        }
+        return "200";
+    }
+
+    private record TimerKey(String name, Method method, String code, String exception) {
+    }
+}
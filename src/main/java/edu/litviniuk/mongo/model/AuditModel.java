@@ -1,30 +0,0 @@
-package edu.litviniuk.mongo.model;
-
-/*
-  @author darin
-  @project mongo
-  @class AuditModel
-  @version 1.0.0
-  @since 18.05.2025 - 13.55
-*/
-
-import lombok.Getter;
-import org.springframework.data.annotation.CreatedBy;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.annotation.LastModifiedDate;
-
-import java.time.LocalDateTime;
-
-@Getter
-public class AuditModel {
-
-    @CreatedDate
-    private LocalDateTime createdDate;
-    @CreatedBy
-    private String createdBy;
-    @LastModifiedDate
-    private LocalDateTime lastModifiedDate;
-    @LastModifiedBy
-    private String lastModifiedBy;
-}
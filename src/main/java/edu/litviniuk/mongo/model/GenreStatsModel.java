@@ -0,0 +1,37 @@
+package edu.litviniuk.mongo.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/*
+  @author darin
+  @project mongo
+  @class GenreStatsModel
+  @version 1.0.0
+  @since 18.10.2026 - 18.05
+*/
+
+// one counter document per genre, kept up to date with $inc by the write paths
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document("genreStats")
+public class GenreStatsModel {
+
+    // movies without a genre are counted under this key
+    public static final String NO_GENRE = "(none)";
+
+    @Id
+    private String genre;
+    private long movieCount;
+    private long updateCount;
+    private LocalDateTime lastUpdateDate;
+
+    public static String key(String genre) {
+        return genre == null ? NO_GENRE : genre;
+    }
+}
@@ -0,0 +1,85 @@
+package edu.litviniuk.mongo.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieHistoryModel
+  @version 1.0.0
+  @since 18.10.2026 - 21.40
+*/
+
+// one append-only entry per create, update or delete; movieId is the time-series meta field,
+// so entries of one movie are stored together and range queries by time stay cheap
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document("movieHistory")
+@TimeSeries(timeField = "timestamp", metaField = "movieId", granularity = Granularity.SECONDS)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MovieHistoryModel {
+
+    public enum Action { CREATE, UPDATE, DELETE }
+
+    @Id
+    private String id;
+    private LocalDateTime timestamp;
+    private String movieId;
+    private Action action;
+    private String auditor;
+    // field name -> old and new value, only the fields that actually changed
+    private Map<String, FieldChange> changes;
+
+    public record FieldChange(String from, String to) {
+    }
+
+    // the same entries for the blocking and the reactive write path
+    public static MovieHistoryModel created(MovieModel movie, LocalDateTime at, String auditor) {
+        return entry(movie.getId(), Action.CREATE, at, auditor, changes(null, movie));
+    }
+
+    public static MovieHistoryModel updated(MovieModel previous, MovieModel updated, LocalDateTime at, String auditor) {
+        return entry(updated.getId(), Action.UPDATE, at, auditor, changes(previous, updated));
+    }
+
+    public static MovieHistoryModel deleted(String movieId, LocalDateTime at, String auditor) {
+        return entry(movieId, Action.DELETE, at, auditor, null);
+    }
+
+    private static MovieHistoryModel entry(String movieId, Action action, LocalDateTime at, String auditor,
+                                           Map<String, FieldChange> changes) {
+        return MovieHistoryModel.builder()
+                .movieId(movieId)
+                .action(action)
+                .timestamp(at)
+                .auditor(auditor)
+                .changes(changes)
+                .build();
+    }
+
+    private static Map<String, FieldChange> changes(MovieModel previous, MovieModel current) {
+        Map<String, FieldChange> changes = new LinkedHashMap<>();
+        change(changes, "title", previous == null ? null : previous.getTitle(), current.getTitle());
+        change(changes, "description", previous == null ? null : previous.getDescription(), current.getDescription());
+        change(changes, "genre", previous == null ? null : previous.getGenre(), current.getGenre());
+        return changes;
+    }
+
+    private static void change(Map<String, FieldChange> changes, String field, String from, String to) {
+        if (!Objects.equals(from, to)) {
+            changes.put(field, new FieldChange(from, to));
+        }
+    }
+}
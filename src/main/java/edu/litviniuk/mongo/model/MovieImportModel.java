@@ -0,0 +1,41 @@
+package edu.litviniuk.mongo.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieImportModel
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+// checkpoint of one file import, keyed by the absolute path. offset is the end of the longest run of
+// chunks that are completely written, a restarted import continues from there. size and lastModified
+// tell a resumed file from a replaced one.
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document("movieImports")
+public class MovieImportModel {
+
+    public enum Status { RUNNING, FAILED, COMPLETED }
+
+    @Id
+    private String file;
+    private long size;
+    private long lastModified;
+    private long offset;
+    private long created;
+    private long rejected;
+    private long invalid;
+    private Status status;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,11 +1,16 @@
 package edu.litviniuk.mongo.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
-import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Objects;
 
 /*
@@ -24,16 +29,29 @@ import java.util.Objects;
 @NoArgsConstructor
 @ToString
 @Document
+@CompoundIndex(name = "createDate_id", def = "{'createDate': 1, '_id': 1}")
+@CompoundIndex(name = "title_description_text_genre", def = "{'title': 'text', 'description': 'text', 'genre': 1}")
 public class MovieModel {
 
-    @Id
+    // 12-byte time-ordered ObjectId in Mongo, its hex string everywhere else
+    @MongoId(FieldType.OBJECT_ID)
     private String id;
+    // not sparse, a second movie without a title would collide on null, so every write requires one
+    @Indexed(unique = true)
     private String title;
     private String description;
     private String genre;
 
     private LocalDateTime createDate;
-    private List<LocalDateTime> updateDate;
+    private LocalDateTime lastUpdateDate;
+
+    @Version
+    private Long version;
+
+    // only filled by text searches, never written back
+    @TextScore
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Float score;
 
     public MovieModel(String title, String description, String genre) {
         this.title = title;
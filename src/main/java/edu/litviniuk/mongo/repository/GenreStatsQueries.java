@@ -0,0 +1,31 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class GenreStatsQueries
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+// genre counter updates shared by the blocking and the reactive repository implementations
+public class GenreStatsQueries {
+
+    public static Query byGenre(String genre) {
+        return new Query(Criteria.where("genre").is(genre));
+    }
+
+    public static Update incrementMovieCount(long delta) {
+        return new Update().inc("movieCount", delta);
+    }
+
+    public static Update recordUpdate(LocalDateTime updatedAt) {
+        return new Update().inc("updateCount", 1).max("lastUpdateDate", updatedAt);
+    }
+}
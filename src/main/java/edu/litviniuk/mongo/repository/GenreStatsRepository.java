@@ -0,0 +1,17 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class GenreStatsRepository
+  @version 1.0.0
+  @since 18.10.2026 - 18.10
+*/
+
+import edu.litviniuk.mongo.model.GenreStatsModel;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GenreStatsRepository extends MongoRepository<GenreStatsModel, String>, GenreStatsRepositoryCustom {
+}
@@ -0,0 +1,23 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class GenreStatsRepositoryCustom
+  @version 1.0.0
+  @since 18.10.2026 - 18.10
+*/
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface GenreStatsRepositoryCustom {
+
+    void incrementMovieCounts(Map<String, Long> deltas);
+
+    void recordUpdate(String previousGenre, String genre, LocalDateTime updatedAt);
+
+    Map<String, Long> countMoviesByGenre();
+
+    void correctMovieCounts(Map<String, Long> counts, Map<String, Long> previous);
+}
@@ -0,0 +1,77 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class GenreStatsRepositoryCustomImpl
+  @version 1.0.0
+  @since 18.10.2026 - 18.15
+*/
+
+import edu.litviniuk.mongo.model.GenreStatsModel;
+import edu.litviniuk.mongo.model.MovieModel;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class GenreStatsRepositoryCustomImpl implements GenreStatsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    // one upsert per genre, all sent in a single unordered bulk
+    @Override
+    public void incrementMovieCounts(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GenreStatsModel.class);
+        deltas.forEach((genre, delta) ->
+                bulk.upsert(GenreStatsQueries.byGenre(genre), GenreStatsQueries.incrementMovieCount(delta)));
+        bulk.execute();
+    }
+
+    // a genre change moves the movie between counters, the update itself is counted on the new genre
+    @Override
+    public void recordUpdate(String previousGenre, String genre, LocalDateTime updatedAt) {
+        Update update = GenreStatsQueries.recordUpdate(updatedAt);
+        if (previousGenre.equals(genre)) {
+            mongoTemplate.upsert(GenreStatsQueries.byGenre(genre), update, GenreStatsModel.class);
+            return;
+        }
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GenreStatsModel.class)
+                .upsert(GenreStatsQueries.byGenre(previousGenre), GenreStatsQueries.incrementMovieCount(-1))
+                .upsert(GenreStatsQueries.byGenre(genre), update.inc("movieCount", 1))
+                .execute();
+    }
+
+    @Override
+    public Map<String, Long> countMoviesByGenre() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("genre").count().as("movieCount"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, MovieModel.class, Document.class)) {
+            counts.put(GenreStatsModel.key(group.getString("_id")), ((Number) group.get("movieCount")).longValue());
+        }
+        return counts;
+    }
+
+    // only movieCount can be derived from the movies, update counters are left as they are. Each counter is moved
+    // by the difference to the recount instead of being overwritten, so a movieCreated/movieDeleted $inc that lands
+    // after previous was read is kept; one landing between the recount and that read can still drift until the
+    // next rebuild
+    @Override
+    public void correctMovieCounts(Map<String, Long> counts, Map<String, Long> previous) {
+        Map<String, Long> corrections = new HashMap<>();
+        counts.forEach((genre, count) -> corrections.put(genre, count - previous.getOrDefault(genre, 0L)));
+        previous.forEach((genre, count) -> corrections.putIfAbsent(genre, -count));
+        corrections.values().removeIf(delta -> delta == 0);
+        incrementMovieCounts(corrections);
+    }
+}
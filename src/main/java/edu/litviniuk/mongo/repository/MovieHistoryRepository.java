@@ -0,0 +1,25 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieHistoryRepository
+  @version 1.0.0
+  @since 18.10.2026 - 21.45
+*/
+
+import edu.litviniuk.mongo.model.MovieHistoryModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MovieHistoryRepository extends MongoRepository<MovieHistoryModel, String> {
+
+    // inclusive range, the pageable carries the limit and the timestamp order
+    List<MovieHistoryModel> findByMovieIdAndTimestampBetween(String movieId, Range<LocalDateTime> timestamp, Pageable pageable);
+}
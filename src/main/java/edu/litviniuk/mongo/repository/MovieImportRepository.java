@@ -0,0 +1,17 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieImportRepository
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.model.MovieImportModel;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MovieImportRepository extends MongoRepository<MovieImportModel, String> {
+}
@@ -0,0 +1,130 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieQueries
+  @version 1.0.0
+  @since 18.10.2026 - 14.40
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.utils.PageCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+// queries shared by the blocking and the reactive repository implementations
+public class MovieQueries {
+
+    public static Query page(MovieSort sort, PageCursor after, int limit, Set<String> fields) {
+        Query query = new Query().limit(limit);
+        if (fields != null) {
+            // the sort key is always read so the next cursor can be built from the last document
+            include(query, fields).fields().include(sort.getKey());
+        }
+        if (sort == MovieSort.CREATE_DATE) {
+            if (after != null) {
+                query.addCriteria(afterCreateDate(after));
+            }
+            query.with(Sort.by(Sort.Direction.ASC, "createDate", "id"));
+        } else {
+            if (after != null) {
+                query.addCriteria(Criteria.where("id").gt(after.lastId()));
+            }
+            query.with(Sort.by(Sort.Direction.ASC, "id"));
+        }
+        return query;
+    }
+
+    // ranked by text score, id breaks ties so pages stay stable
+    public static Query search(String text, String genre, long skip, int limit, Set<String> fields) {
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text));
+        query.sortByScore().includeScore();
+        if (genre != null) {
+            query.addCriteria(Criteria.where("genre").is(genre));
+        }
+        include(query, fields);
+        query.with(Sort.by(Sort.Direction.ASC, "id")).skip(skip).limit(limit);
+        return query;
+    }
+
+    public static Query byId(String id, Set<String> fields) {
+        return include(new Query(Criteria.where("id").is(id)), fields);
+    }
+
+    // with an expected version the document only matches if nobody changed it in between
+    public static Query byIdAndVersion(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        return new Query(criteria);
+    }
+
+    public static Query titlesIn(Collection<String> titles) {
+        Query query = new Query(Criteria.where("title").in(titles));
+        query.fields().include("title");
+        return query;
+    }
+
+    // the change itself goes to movieHistory, the legacy updateDate array is dropped on the way
+    public static Update update(String title, String description, String genre, LocalDateTime updatedAt) {
+        return new Update()
+                .set("title", title)
+                .set("description", description)
+                .set("genre", genre)
+                .set("lastUpdateDate", updatedAt)
+                .unset("updateDate")
+                .inc("version", 1);
+    }
+
+    // findAndModify hands back the previous document, the new one is the same update applied to a copy
+    public static MovieModel applied(MovieModel previous, String title, String description, String genre,
+                                     LocalDateTime updatedAt) {
+        return MovieModel.builder()
+                .id(previous.getId())
+                .title(title)
+                .description(description)
+                .genre(genre)
+                .createDate(previous.getCreateDate())
+                .lastUpdateDate(updatedAt)
+                .version(previous.getVersion() == null ? 1L : previous.getVersion() + 1)
+                .build();
+    }
+
+    public static Update setOnInsert(MovieModel movie) {
+        return new Update()
+                .setOnInsert("title", movie.getTitle())
+                .setOnInsert("description", movie.getDescription())
+                .setOnInsert("genre", movie.getGenre())
+                .setOnInsert("createDate", movie.getCreateDate())
+                .setOnInsert("version", movie.getVersion());
+    }
+
+    private static Query include(Query query, Set<String> fields) {
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+        }
+        return query;
+    }
+
+    // missing createDate sorts first, so documents without it come before all dated ones
+    private static Criteria afterCreateDate(PageCursor after) {
+        if (after.lastCreateDate() == null) {
+            return new Criteria().orOperator(
+                    Criteria.where("createDate").is(null).and("id").gt(after.lastId()),
+                    Criteria.where("createDate").ne(null));
+        }
+        return new Criteria().orOperator(
+                Criteria.where("createDate").gt(after.lastCreateDate()),
+                Criteria.where("createDate").is(after.lastCreateDate()).and("id").gt(after.lastId()));
+    }
+}
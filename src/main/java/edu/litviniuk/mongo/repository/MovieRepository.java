@@ -15,8 +15,7 @@ import java.util.Optional;
 */
 
 @Repository
-public interface MovieRepository extends MongoRepository<MovieModel, String> {
+public interface MovieRepository extends MongoRepository<MovieModel, String>, MovieRepositoryCustom {
 
-    boolean existsByTitle(String title);
     Optional<MovieModel> findByTitle(String title);
 }
@@ -0,0 +1,49 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieRepositoryCustom
+  @version 1.0.0
+  @since 18.10.2026 - 10.20
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.utils.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface MovieRepositoryCustom {
+
+    List<MovieModel> findPage(MovieSort sort, PageCursor after, int limit, Set<String> fields);
+
+    List<MovieModel> search(String text, String genre, long skip, int limit, Set<String> fields);
+
+    Optional<MovieModel> findProjectedById(String id, Set<String> fields);
+
+    Stream<MovieModel> streamAll(int batchSize);
+
+    Set<String> findExistingTitles(Collection<String> titles);
+
+    void insertUnordered(List<MovieModel> movies);
+
+    // returns the movies that did not exist yet and were inserted
+    List<MovieModel> insertIfAbsent(List<MovieModel> movies);
+
+    Optional<MovieModel> removeById(String id);
+
+    // documents written before movieHistory keep their last updateDate entry as lastUpdateDate
+    long migrateLegacyUpdateDates();
+
+    // moves documents with string _ids to ObjectId _ids and repoints their history, returns how many moved
+    long migrateStringIds();
+
+    // returns the document as it was before the update, null when nothing matched
+    MovieModel applyUpdate(String id, Long expectedVersion, String title, String description, String genre,
+                           LocalDateTime updatedAt);
+}
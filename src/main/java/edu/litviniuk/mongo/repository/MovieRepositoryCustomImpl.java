@@ -0,0 +1,166 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieRepositoryCustomImpl
+  @version 1.0.0
+  @since 18.10.2026 - 10.25
+*/
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Updates;
+import edu.litviniuk.mongo.model.MovieHistoryModel;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.utils.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class MovieRepositoryCustomImpl implements MovieRepositoryCustom {
+
+    private static final String ID_MIGRATION_COLLECTION = "movieIdMigration";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<MovieModel> findPage(MovieSort sort, PageCursor after, int limit, Set<String> fields) {
+        return mongoTemplate.find(MovieQueries.page(sort, after, limit, fields), MovieModel.class);
+    }
+
+    @Override
+    public List<MovieModel> search(String text, String genre, long skip, int limit, Set<String> fields) {
+        return mongoTemplate.find(MovieQueries.search(text, genre, skip, limit, fields), MovieModel.class);
+    }
+
+    @Override
+    public Optional<MovieModel> findProjectedById(String id, Set<String> fields) {
+        return Optional.ofNullable(mongoTemplate.findOne(MovieQueries.byId(id, fields), MovieModel.class));
+    }
+
+    @Override
+    public Stream<MovieModel> streamAll(int batchSize) {
+        return mongoTemplate.stream(new Query().cursorBatchSize(batchSize), MovieModel.class);
+    }
+
+    @Override
+    public Set<String> findExistingTitles(Collection<String> titles) {
+        return mongoTemplate.find(MovieQueries.titlesIn(titles), MovieModel.class).stream()
+                .map(MovieModel::getTitle)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void insertUnordered(List<MovieModel> movies) {
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MovieModel.class)
+                .insert(movies)
+                .execute();
+    }
+
+    @Override
+    public Optional<MovieModel> removeById(String id) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(MovieQueries.byId(id, Set.of("genre")), MovieModel.class));
+    }
+
+    // upsert with $setOnInsert only, an existing document with the same id is left untouched
+    @Override
+    public List<MovieModel> insertIfAbsent(List<MovieModel> movies) {
+        if (movies.isEmpty()) {
+            return List.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MovieModel.class);
+        movies.forEach(movie -> bulk.upsert(MovieQueries.byIdAndVersion(movie.getId(), null), MovieQueries.setOnInsert(movie)));
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            // a seed whose title is already taken by another id is skipped like an existing one
+            result = e.getResult();
+        }
+        return result.getUpserts().stream()
+                .map(upsert -> movies.get(upsert.getIndex()))
+                .toList();
+    }
+
+    // one pipeline update over all legacy documents, Mongo 4.2+
+    @Override
+    public long migrateLegacyUpdateDates() {
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("lastUpdateDate").toValueOf(ArrayOperators.ArrayElemAt.arrayOf("updateDate").elementAt(-1))
+                .unset("updateDate");
+        return mongoTemplate.updateMulti(new Query(Criteria.where("updateDate").exists(true)), update, MovieModel.class)
+                .getModifiedCount();
+    }
+
+    // _id is immutable, so every legacy document is re-inserted under an ObjectId and the old one
+    // deleted. Each move is parked in movieIdMigration first: an interrupted run leaves the document
+    // there and the next run completes it. 24-char hex ids keep their value, others get a new
+    // ObjectId stamped with their createDate so the id order still follows creation.
+    @Override
+    public long migrateStringIds() {
+        MongoCollection<Document> movies = mongoTemplate.getCollection(mongoTemplate.getCollectionName(MovieModel.class));
+        MongoCollection<Document> parked = mongoTemplate.getCollection(ID_MIGRATION_COLLECTION);
+        for (Document move : parked.find()) {
+            completeMove(movies, parked, move);
+        }
+        long moved = 0;
+        for (Document legacy : movies.find(Filters.type("_id", BsonType.STRING))) {
+            String oldId = legacy.getString("_id");
+            Date createDate = legacy.getDate("createDate");
+            ObjectId newId = ObjectId.isValid(oldId) ? new ObjectId(oldId)
+                    : createDate == null ? new ObjectId() : new ObjectId(createDate);
+            Document move = new Document("_id", oldId).append("newId", newId).append("movie", legacy);
+            parked.replaceOne(Filters.eq("_id", oldId), move, new ReplaceOptions().upsert(true));
+            completeMove(movies, parked, move);
+            moved++;
+        }
+        return moved;
+    }
+
+    // every step is idempotent, so repeating it after a crash is safe
+    private void completeMove(MongoCollection<Document> movies, MongoCollection<Document> parked, Document move) {
+        String oldId = move.getString("_id");
+        ObjectId newId = move.getObjectId("newId");
+        Document movie = new Document(move.get("movie", Document.class));
+        movie.put("_id", newId);
+        // the old document goes first, it still holds the unique title
+        movies.deleteOne(Filters.eq("_id", oldId));
+        movies.replaceOne(Filters.eq("_id", newId), movie, new ReplaceOptions().upsert(true));
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(MovieHistoryModel.class))
+                .updateMany(Filters.eq("movieId", oldId), Updates.set("movieId", newId.toHexString()));
+        parked.deleteOne(Filters.eq("_id", oldId));
+    }
+
+    // single findAndModify instead of read, modify and save
+    @Override
+    public MovieModel applyUpdate(String id, Long expectedVersion, String title, String description, String genre,
+                                  LocalDateTime updatedAt) {
+        return mongoTemplate.findAndModify(
+                MovieQueries.byIdAndVersion(id, expectedVersion),
+                MovieQueries.update(title, description, genre, updatedAt),
+                FindAndModifyOptions.options().returnNew(false),
+                MovieModel.class);
+    }
+}
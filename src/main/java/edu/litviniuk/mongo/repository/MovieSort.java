@@ -0,0 +1,49 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieSort
+  @version 1.0.0
+  @since 18.10.2026 - 10.10
+*/
+
+import edu.litviniuk.mongo.utils.PageCursor;
+
+import java.util.Arrays;
+
+public enum MovieSort {
+    ID("id"),
+    CREATE_DATE("createDate");
+
+    private final String key;
+
+    MovieSort(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static MovieSort from(String key) {
+        if (key == null || key.isBlank()) {
+            return ID;
+        }
+        return Arrays.stream(values())
+                .filter(sort -> sort.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort: " + key));
+    }
+
+    // a cursor carries its own sort; an explicit sort param must agree with it
+    public static MovieSort resolve(PageCursor after, String key) {
+        if (after == null) {
+            return from(key);
+        }
+        if (key != null && !key.isBlank() && from(key) != after.sort()) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+        return after.sort();
+    }
+}
@@ -0,0 +1,18 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveGenreStatsRepository
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.model.GenreStatsModel;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveGenreStatsRepository extends ReactiveMongoRepository<GenreStatsModel, String>,
+        ReactiveGenreStatsRepositoryCustom {
+}
@@ -0,0 +1,20 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveGenreStatsRepositoryCustom
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface ReactiveGenreStatsRepositoryCustom {
+
+    Mono<Void> incrementMovieCount(String genre, long delta);
+
+    Mono<Void> recordUpdate(String previousGenre, String genre, LocalDateTime updatedAt);
+}
@@ -0,0 +1,44 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveGenreStatsRepositoryCustomImpl
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.model.GenreStatsModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class ReactiveGenreStatsRepositoryCustomImpl implements ReactiveGenreStatsRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Void> incrementMovieCount(String genre, long delta) {
+        return reactiveMongoTemplate.upsert(GenreStatsQueries.byGenre(genre), GenreStatsQueries.incrementMovieCount(delta),
+                GenreStatsModel.class).then();
+    }
+
+    // a genre change moves the movie between counters, the update itself is counted on the new genre
+    @Override
+    public Mono<Void> recordUpdate(String previousGenre, String genre, LocalDateTime updatedAt) {
+        Update update = GenreStatsQueries.recordUpdate(updatedAt);
+        if (previousGenre.equals(genre)) {
+            return reactiveMongoTemplate.upsert(GenreStatsQueries.byGenre(genre), update, GenreStatsModel.class).then();
+        }
+        return reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GenreStatsModel.class)
+                .upsert(GenreStatsQueries.byGenre(previousGenre), GenreStatsQueries.incrementMovieCount(-1))
+                .upsert(GenreStatsQueries.byGenre(genre), update.inc("movieCount", 1))
+                .execute()
+                .then();
+    }
+}
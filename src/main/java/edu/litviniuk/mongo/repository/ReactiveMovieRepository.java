@@ -0,0 +1,17 @@
+package edu.litviniuk.mongo.repository;
+
+import edu.litviniuk.mongo.model.MovieModel;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveMovieRepository
+  @version 1.0.0
+  @since 18.10.2026 - 15.00
+*/
+
+@Repository
+public interface ReactiveMovieRepository extends ReactiveMongoRepository<MovieModel, String>, ReactiveMovieRepositoryCustom {
+}
@@ -0,0 +1,30 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveMovieRepositoryCustom
+  @version 1.0.0
+  @since 18.10.2026 - 15.00
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.utils.PageCursor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public interface ReactiveMovieRepositoryCustom {
+
+    Flux<MovieModel> findPage(MovieSort sort, PageCursor after, int limit, Set<String> fields);
+
+    Mono<MovieModel> findProjectedById(String id, Set<String> fields);
+
+    // emits the document as it was before the update, empty if the id or the expected version did not match
+    Mono<MovieModel> applyUpdate(String id, Long expectedVersion, String title, String description, String genre,
+                                 LocalDateTime updatedAt);
+
+    Mono<MovieModel> removeById(String id);
+}
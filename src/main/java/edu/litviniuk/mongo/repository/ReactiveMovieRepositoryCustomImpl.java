@@ -0,0 +1,51 @@
+package edu.litviniuk.mongo.repository;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveMovieRepositoryCustomImpl
+  @version 1.0.0
+  @since 18.10.2026 - 15.05
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.utils.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ReactiveMovieRepositoryCustomImpl implements ReactiveMovieRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<MovieModel> findPage(MovieSort sort, PageCursor after, int limit, Set<String> fields) {
+        return reactiveMongoTemplate.find(MovieQueries.page(sort, after, limit, fields), MovieModel.class);
+    }
+
+    @Override
+    public Mono<MovieModel> findProjectedById(String id, Set<String> fields) {
+        return reactiveMongoTemplate.findOne(MovieQueries.byId(id, fields), MovieModel.class);
+    }
+
+    @Override
+    public Mono<MovieModel> applyUpdate(String id, Long expectedVersion, String title, String description, String genre,
+                                        LocalDateTime updatedAt) {
+        return reactiveMongoTemplate.findAndModify(
+                MovieQueries.byIdAndVersion(id, expectedVersion),
+                MovieQueries.update(title, description, genre, updatedAt),
+                FindAndModifyOptions.options().returnNew(false),
+                MovieModel.class);
+    }
+
+    @Override
+    public Mono<MovieModel> removeById(String id) {
+        return reactiveMongoTemplate.findAndRemove(MovieQueries.byId(id, Set.of("genre")), MovieModel.class);
+    }
+}
@@ -24,6 +24,8 @@ public class BaseMetaData {
     private boolean success = true;
     @Builder.Default
     private String errorMessage = null;
+    @Builder.Default
+    private String nextCursor = null;
 
     public BaseMetaData(int code, boolean success) {
         this.code = code;
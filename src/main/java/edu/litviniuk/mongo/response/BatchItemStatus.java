@@ -0,0 +1,28 @@
+package edu.litviniuk.mongo.response;
+
+/*
+  @author darin
+  @project mongo
+  @class BatchItemStatus
+  @version 1.0.0
+  @since 18.10.2026 - 11.40
+*/
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemStatus {
+    private int index;
+    private String title;
+    private String id;
+    @Builder.Default
+    private int code = 201;
+    @Builder.Default
+    private String errorMessage = null;
+}
@@ -0,0 +1,27 @@
+package edu.litviniuk.mongo.response;
+
+/*
+  @author darin
+  @project mongo
+  @class CacheStatsResponse
+  @version 1.0.0
+  @since 18.10.2026 - 12.35
+*/
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsResponse {
+    private boolean enabled;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+}
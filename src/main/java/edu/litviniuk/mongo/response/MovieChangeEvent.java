@@ -0,0 +1,36 @@
+package edu.litviniuk.mongo.response;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieChangeEvent
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import edu.litviniuk.mongo.model.MovieModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MovieChangeEvent {
+
+    public enum Operation {
+        CREATE, UPDATE, DELETE
+    }
+
+    private Operation operation;
+    private String id;
+    // genre and movie are the document after the change, deletes only carry the id
+    private String genre;
+    // genre before an update, only when the collection records pre-images
+    private String previousGenre;
+    private MovieModel movie;
+}
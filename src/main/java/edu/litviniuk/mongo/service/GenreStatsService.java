@@ -0,0 +1,83 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class GenreStatsService
+  @version 1.0.0
+  @since 18.10.2026 - 18.20
+*/
+
+import edu.litviniuk.mongo.model.GenreStatsModel;
+import edu.litviniuk.mongo.repository.GenreStatsRepository;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// per-genre counters maintained by MovieService, so dashboards never aggregate over all movies
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class GenreStatsService {
+
+    private final GenreStatsRepository genreStatsRepository;
+
+    public void movieCreated(String genre) {
+        genreStatsRepository.incrementMovieCounts(Map.of(GenreStatsModel.key(genre), 1L));
+    }
+
+    public void moviesCreated(Collection<String> genres) {
+        genreStatsRepository.incrementMovieCounts(genres.stream()
+                .collect(Collectors.groupingBy(GenreStatsModel::key, Collectors.counting())));
+    }
+
+    public void movieUpdated(String previousGenre, String genre, LocalDateTime updatedAt) {
+        genreStatsRepository.recordUpdate(GenreStatsModel.key(previousGenre), GenreStatsModel.key(genre), updatedAt);
+    }
+
+    public void movieDeleted(String genre) {
+        genreStatsRepository.incrementMovieCounts(Map.of(GenreStatsModel.key(genre), -1L));
+    }
+
+    public List<GenreStatsModel> getGenreStats() {
+        return genreStatsRepository.findAll(Sort.by("genre"));
+    }
+
+    // consistency check: recount movies per genre and correct the counters, returns genres that had drifted
+    @Scheduled(cron = "${movies.stats.rebuild-cron:-}")
+    public List<GenreStatsModel> rebuild() {
+        Map<String, Long> counts = genreStatsRepository.countMoviesByGenre();
+        Map<String, GenreStatsModel> current = getGenreStats().stream()
+                .collect(Collectors.toMap(GenreStatsModel::getGenre, Function.identity()));
+        genreStatsRepository.correctMovieCounts(counts, current.values().stream()
+                .collect(Collectors.toMap(GenreStatsModel::getGenre, GenreStatsModel::getMovieCount)));
+
+        List<GenreStatsModel> drifted = current.values().stream()
+                .filter(stats -> stats.getMovieCount() != counts.getOrDefault(stats.getGenre(), 0L))
+                .collect(Collectors.toList());
+        counts.keySet().stream()
+                .filter(genre -> !current.containsKey(genre))
+                .forEach(genre -> drifted.add(GenreStatsModel.builder().genre(genre).build()));
+        drifted.forEach(stats -> stats.setMovieCount(counts.getOrDefault(stats.getGenre(), 0L)));
+        return drifted;
+    }
+
+    public ApiResponse<BaseMetaData, GenreStatsModel> getGenreStatsApiResponse() {
+        return new ApiResponse<>(BaseMetaData.builder().build(), getGenreStats());
+    }
+
+    public ApiResponse<BaseMetaData, GenreStatsModel> rebuildApiResponse() {
+        return new ApiResponse<>(BaseMetaData.builder().build(), rebuild());
+    }
+}
@@ -0,0 +1,33 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class LegacyHistoryMigration
+  @version 1.0.0
+  @since 18.10.2026 - 22.10
+*/
+
+import edu.litviniuk.mongo.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// one-off: replaces the embedded updateDate arrays with lastUpdateDate; updates drop them as well,
+// so this is only needed for movies that are never edited again. Safe to run repeatedly.
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "movies.history", name = "migrate-legacy-update-dates", havingValue = "true")
+@RequiredArgsConstructor
+public class LegacyHistoryMigration implements ApplicationRunner {
+
+    private final MovieRepository movieRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        movieRepository.migrateLegacyUpdateDates();
+    }
+}
@@ -0,0 +1,37 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class LegacyIdMigration
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.cache.MovieCache;
+import edu.litviniuk.mongo.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// one-off: movies stored with string _ids cannot be read through the ObjectId mapping, this moves
+// them over at startup. Safe to run repeatedly and to restart halfway.
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "movies.ids", name = "migrate-string-ids", havingValue = "true")
+@RequiredArgsConstructor
+public class LegacyIdMigration implements ApplicationRunner {
+
+    private final MovieRepository movieRepository;
+    private final MovieCache movieCache;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (movieRepository.migrateStringIds() > 0) {
+            movieCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieChangeFeed
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.response.MovieChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// one change stream on the movies collection fanned out to every SSE subscriber. Each event id is
+// the change stream resume token; the last replaySize events are kept so a client reconnecting with
+// Last-Event-ID gets what it missed. An id outside that ring (after a restart, or from another
+// instance) is resumed from the server with its own stream until it reaches the ring; only a token
+// the server no longer has gets a "reset" event, and the client has to reload.
+// Every subscriber has its own queue drained by a small sender pool, a client that falls
+// subscriberBacklog events behind is disconnected instead of slowing the others down.
+@Slf4j
+@Service
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "movies.changes", name = "enabled", havingValue = "true")
+public class MovieChangeFeed {
+
+    private static final List<String> OPERATIONS = List.of("insert", "update", "replace", "delete");
+    // history lost, resume token not found in the oplog, malformed token: nothing left to resume from
+    private static final Set<Integer> RESUME_POINT_GONE = Set.of(286, 280, 260);
+    private static final Entry HEARTBEAT = new Entry(null, null);
+    private static final Entry RESET = new Entry(null, null);
+
+    private final MongoTemplate mongoTemplate;
+    private final MovieProperties.Changes properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    // one thread per client catching up from a resume token outside the ring
+    private final ExecutorService resumers;
+    private final Thread watcher = new Thread(this::watch, "movie-change-stream");
+    private volatile boolean running = true;
+    // the collection records pre-images, so updates carry the genre before the change
+    private volatile boolean preImages;
+
+    // replay ring, guarded by this together with the subscriber registration
+    private final Entry[] recent;
+    private int head;
+    private int size;
+
+    private final Counter published;
+    private final Counter restarts;
+    private final Counter disconnected;
+
+    public MovieChangeFeed(MongoTemplate mongoTemplate, MovieProperties movieProperties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = movieProperties.getChanges();
+        this.recent = new Entry[properties.getReplaySize()];
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(), task -> {
+            Thread thread = new Thread(task, "movie-change-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger resumeThreads = new AtomicInteger();
+        this.resumers = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "movie-change-resume-" + resumeThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("movies.changes.subscribers", subscribers, Set::size)
+                .description("Connected change feed clients")
+                .register(meterRegistry);
+        this.published = Counter.builder("movies.changes.events")
+                .description("Change stream events fanned out to subscribers")
+                .register(meterRegistry);
+        this.restarts = Counter.builder("movies.changes.stream.restarts")
+                .description("Times the change stream failed and was reopened")
+                .register(meterRegistry);
+        this.disconnected = Counter.builder("movies.changes.disconnected")
+                .description("Subscribers dropped for falling too far behind")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        preImages = enablePreImages();
+        watcher.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        watcher.interrupt();
+        watcher.join(properties.getRetryDelay().toMillis());
+        resumers.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    // genre filters creates by their genre and updates by the genre before or after the change, so a movie
+    // moving out of the genre is seen; deletes and updates without a pre-image reach everyone
+    public SseEmitter subscribe(String genre, String lastEventId) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(properties.getEmitterTimeout().toMillis()),
+                genre == null || genre.isBlank() ? null : genre);
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<Entry> missed = since(lastEventId);
+                if (missed == null && isResumeToken(lastEventId)) {
+                    // joins subscribers once it caught up
+                    resumers.execute(() -> resume(subscriber, lastEventId));
+                    return subscriber.emitter;
+                } else if (missed == null) {
+                    subscriber.offer(RESET, false);
+                } else {
+                    missed.forEach(entry -> subscriber.offer(entry, false));
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return subscriber.emitter;
+    }
+
+    // keeps proxies from closing idle connections and finds clients that went away
+    @Scheduled(fixedDelayString = "${movies.changes.heartbeat:15s}")
+    void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT, false));
+    }
+
+    synchronized void publish(String token, MovieChangeEvent event) {
+        Entry entry = new Entry(token, event);
+        recent[head] = entry;
+        head = (head + 1) % recent.length;
+        size = Math.min(size + 1, recent.length);
+        published.increment();
+        subscribers.forEach(subscriber -> subscriber.offer(entry, true));
+    }
+
+    // the stream restarted from now, nobody can tell what was missed in between
+    private synchronized void resetAll() {
+        head = 0;
+        size = 0;
+        subscribers.forEach(subscriber -> subscriber.offer(RESET, false));
+    }
+
+    // entries after the one with this token, null when it is not in the ring anymore
+    private List<Entry> since(String token) {
+        List<Entry> missed = new ArrayList<>();
+        boolean found = false;
+        for (int i = 0; i < size; i++) {
+            Entry entry = recent[(head - size + i + recent.length) % recent.length];
+            if (found) {
+                missed.add(entry);
+            } else if (entry.token().equals(token)) {
+                found = true;
+            }
+        }
+        return found ? missed : null;
+    }
+
+    // reads the server's change stream after token until an event is also in the ring, then joins the
+    // shared feed from there. Waits for the client instead of queueing the whole gap at once.
+    private void resume(Subscriber subscriber, String token) {
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open(resumeToken(token))) {
+            String last = token;
+            while (running && !subscriber.closed) {
+                if (subscriber.backlog.get() >= properties.getSubscriberBacklog()) {
+                    Thread.sleep(10);
+                    continue;
+                }
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                Entry entry = change == null ? null
+                        : new Entry(change.getResumeToken().getString("_data").getValue(), toEvent(change));
+                synchronized (this) {
+                    // caught up with the server, or the shared stream has this event as well
+                    if (entry == null || since(entry.token()) != null) {
+                        List<Entry> missed = since(entry == null ? last : entry.token());
+                        if (entry != null) {
+                            subscriber.offer(entry, true);
+                        }
+                        if (missed != null) {
+                            missed.forEach(next -> subscriber.offer(next, true));
+                        }
+                        subscriber.join();
+                        return;
+                    }
+                }
+                subscriber.offer(entry, true);
+                last = entry.token();
+            }
+        } catch (InterruptedException e) {
+            subscriber.emitter.complete();
+        } catch (RuntimeException e) {
+            if (isResumePointGone(e)) {
+                synchronized (this) {
+                    subscriber.offer(RESET, false);
+                    subscriber.join();
+                }
+                return;
+            }
+            // the client reconnects with the same Last-Event-ID and tries again
+            log.warn("Could not resume the movie change stream for a client", e);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void watch() {
+        BsonDocument resumeToken = null;
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open(resumeToken)) {
+                while (running) {
+                    // returns null after maxAwaitTime so a shutdown is noticed
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        resumeToken = change.getResumeToken();
+                        publish(resumeToken.getString("_data").getValue(), toEvent(change));
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                restarts.increment();
+                log.warn("Movie change stream failed, reopening in {}", properties.getRetryDelay(), e);
+                if (isResumePointGone(e)) {
+                    resumeToken = null;
+                    resetAll();
+                }
+                try {
+                    Thread.sleep(properties.getRetryDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open(BsonDocument resumeToken) {
+        var stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(MovieModel.class))
+                .watch(List.of(Aggregates.match(Filters.in("operationType", OPERATIONS))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (preImages) {
+            stream = stream.fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE);
+        }
+        return (resumeToken == null ? stream : stream.resumeAfter(resumeToken)).cursor();
+    }
+
+    // needs MongoDB 6.0 and collMod rights, without them updates are sent to every genre subscriber
+    private boolean enablePreImages() {
+        try {
+            mongoTemplate.executeCommand(new Document("collMod", mongoTemplate.getCollectionName(MovieModel.class))
+                    .append("changeStreamPreAndPostImages", new Document("enabled", true)));
+            return true;
+        } catch (RuntimeException e) {
+            log.info("Change stream pre-images are not available, genre subscribers get every update: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // resume tokens are hex strings, anything else was never an id of this feed
+    private static boolean isResumeToken(String token) {
+        return token.matches("[0-9A-Fa-f]+");
+    }
+
+    private static BsonDocument resumeToken(String token) {
+        return new BsonDocument("_data", new BsonString(token));
+    }
+
+    private static boolean isResumePointGone(RuntimeException e) {
+        return e instanceof MongoException mongoException && RESUME_POINT_GONE.contains(mongoException.getCode());
+    }
+
+    private MovieChangeEvent toEvent(ChangeStreamDocument<Document> change) {
+        BsonValue key = change.getDocumentKey().get("_id");
+        // an update of a movie deleted right after has no document left to look up
+        MovieModel movie = change.getFullDocument() == null ? null
+                : mongoTemplate.getConverter().read(MovieModel.class, change.getFullDocument());
+        Document before = change.getFullDocumentBeforeChange();
+        return MovieChangeEvent.builder()
+                .operation(switch (change.getOperationType()) {
+                    case INSERT -> MovieChangeEvent.Operation.CREATE;
+                    case DELETE -> MovieChangeEvent.Operation.DELETE;
+                    default -> MovieChangeEvent.Operation.UPDATE;
+                })
+                .id(key.isObjectId() ? key.asObjectId().getValue().toHexString() : key.asString().getValue())
+                .genre(movie == null ? null : movie.getGenre())
+                .previousGenre(before == null ? null : before.getString("genre"))
+                .movie(movie)
+                .build();
+    }
+
+    private record Entry(String token, MovieChangeEvent event) {
+    }
+
+    private record Queued(Entry entry, boolean live) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String genre;
+        private final Queue<Queued> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger backlog = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, String genre) {
+            this.emitter = emitter;
+            this.genre = genre;
+        }
+
+        // replayed and control entries skip the backlog limit, only live events count against it
+        void offer(Entry entry, boolean live) {
+            MovieChangeEvent event = entry.event();
+            if (event != null && genre != null && !matches(event)) {
+                return;
+            }
+            if (live && backlog.incrementAndGet() > properties.getSubscriberBacklog()) {
+                overflowed = true;
+            } else {
+                queue.add(new Queued(entry, live));
+            }
+            schedule();
+        }
+
+        // a client that went away while catching up is not added anymore
+        void join() {
+            synchronized (MovieChangeFeed.this) {
+                if (!closed) {
+                    subscribers.add(this);
+                }
+            }
+        }
+
+        void close() {
+            synchronized (MovieChangeFeed.this) {
+                closed = true;
+                subscribers.remove(this);
+            }
+        }
+
+        private boolean matches(MovieChangeEvent event) {
+            return switch (event.getOperation()) {
+                case CREATE -> event.getGenre() == null || genre.equals(event.getGenre());
+                case UPDATE -> event.getGenre() == null || event.getPreviousGenre() == null
+                        || genre.equals(event.getGenre()) || genre.equals(event.getPreviousGenre());
+                case DELETE -> true;
+            };
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // at most one drain per subscriber at a time, so events go out in order
+        private void drain() {
+            try {
+                Queued next;
+                while (!overflowed && (next = queue.poll()) != null) {
+                    if (next.live()) {
+                        backlog.decrementAndGet();
+                    }
+                    emitter.send(toSse(next.entry()));
+                }
+                if (overflowed) {
+                    close();
+                    disconnected.increment();
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client is gone or the emitter already completed
+                close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private SseEmitter.SseEventBuilder toSse(Entry entry) {
+            if (entry == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            if (entry == RESET) {
+                return SseEmitter.event().name("reset").data("Resume point is gone, reload the movies");
+            }
+            return SseEmitter.event()
+                    .id(entry.token())
+                    .name(entry.event().getOperation().name().toLowerCase())
+                    .data(entry.event(), MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieExportService
+  @version 1.0.0
+  @since 18.10.2026 - 11.05
+*/
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class MovieExportService {
+
+    private final MovieRepository movieRepository;
+    private final MovieProperties movieProperties;
+    private final ObjectMapper objectMapper;
+
+    // writes one JSON document per line straight from the Mongo cursor. The headers go out before the first
+    // cursor batch arrives and the first document on its own, so a client sees the export has started;
+    // after that the output is flushed once per cursor batch.
+    public long exportMovies(OutputStream out) throws IOException {
+        int batchSize = movieProperties.getExport().getBatchSize();
+        long written = 0;
+        try (Stream<MovieModel> movies = movieRepository.streamAll(batchSize);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            generator.flush();
+
+            Iterator<MovieModel> iterator = movies.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+                if (++written == 1 || written % batchSize == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return written;
+    }
+}
@@ -0,0 +1,415 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieFileImporter
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieImportModel;
+import edu.litviniuk.mongo.repository.MovieImportRepository;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.response.BatchItemStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// bulk load of a CSV (header row naming title, description, genre) or NDJSON file, one movie per line.
+// One thread reads the file in chunks cut at line breaks, parallelism workers parse a chunk each and
+// write it through MovieService.createAll in unordered batches. Chunks finish out of order, the
+// checkpoint in movieImports only moves over chunks that are done with everything before them, so a
+// failed import restarts at that offset; movies written after it come back as duplicate titles.
+// CSV fields may be quoted, but a record has to stay on one line.
+@Slf4j
+@Service
+@Profile("!reactive")
+public class MovieFileImporter {
+
+    private final MovieService movieService;
+    private final MovieImportRepository movieImportRepository;
+    private final ObjectMapper objectMapper;
+    private final MovieProperties.FileImport properties;
+
+    private final Counter created;
+    private final Counter rejected;
+    private final Counter invalid;
+
+    public MovieFileImporter(MovieService movieService, MovieImportRepository movieImportRepository,
+                             ObjectMapper objectMapper, MovieProperties movieProperties, MeterRegistry meterRegistry) {
+        this.movieService = movieService;
+        this.movieImportRepository = movieImportRepository;
+        this.objectMapper = objectMapper;
+        this.properties = movieProperties.getFileImport();
+        this.created = recordCounter(meterRegistry, "created");
+        this.rejected = recordCounter(meterRegistry, "rejected");
+        this.invalid = recordCounter(meterRegistry, "invalid");
+    }
+
+    public MovieImportModel importFile(Path path) throws IOException {
+        Format format = Format.of(path);
+        Path file = path.toAbsolutePath().normalize();
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+        MovieImportModel job = movieImportRepository.findById(file.toString())
+                .filter(previous -> properties.isResume()
+                        && previous.getSize() == size && previous.getLastModified() == lastModified)
+                .orElse(null);
+        if (job != null && job.getStatus() == MovieImportModel.Status.COMPLETED) {
+            log.info("{} was already imported, {} movies created", file, job.getCreated());
+            return job;
+        }
+        if (job == null) {
+            job = MovieImportModel.builder().file(file.toString()).size(size).lastModified(lastModified).build();
+        } else {
+            log.info("Resuming import of {} at byte {} of {}", file, job.getOffset(), size);
+        }
+        job.setStatus(MovieImportModel.Status.RUNNING);
+        job.setError(null);
+        job.setStartedAt(LocalDateTime.now());
+        movieImportRepository.save(job);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = format == Format.CSV ? readHeader(channel) : null;
+            long start = header == null ? job.getOffset() : Math.max(job.getOffset(), header.length());
+            return new Run(job, header, start).execute(channel);
+        }
+    }
+
+    private CreateMovieRequest parse(byte[] bytes, int offset, int length, Header header) {
+        if (header == null) {
+            try {
+                return objectMapper.readValue(bytes, offset, length, CreateMovieRequest.class);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        List<String> fields = splitCsv(new String(bytes, offset, length, StandardCharsets.UTF_8));
+        if (fields == null || fields.size() != header.columns()) {
+            return null;
+        }
+        return new CreateMovieRequest(header.field(fields, "title"), header.field(fields, "description"),
+                header.field(fields, "genre"));
+    }
+
+    private Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), properties.getChunkSize()));
+        channel.read(buffer, 0);
+        int end = 0;
+        while (end < buffer.position() && buffer.get(end) != '\n') {
+            end++;
+        }
+        if (end == buffer.position()) {
+            throw new IllegalArgumentException("CSV header line is missing");
+        }
+        List<String> names = splitCsv(new String(buffer.array(), 0, end, StandardCharsets.UTF_8)
+                .replace("\uFEFF", "").strip());
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; names != null && i < names.size(); i++) {
+            indexes.put(names.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        if (!indexes.containsKey("title")) {
+            throw new IllegalArgumentException("CSV header must contain a title column");
+        }
+        return new Header(indexes, names.size(), end + 1);
+    }
+
+    // RFC 4180 quoting within one line, null when a quote is left open
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("movies.import.records")
+                .description("Imported file records by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private enum Format {
+        CSV, NDJSON;
+
+        static Format of(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import file, expected .csv, .ndjson or .jsonl");
+        }
+    }
+
+    private record Header(Map<String, Integer> indexes, int columns, int length) {
+
+        String field(List<String> fields, String name) {
+            Integer index = indexes.get(name);
+            return index == null || fields.get(index).isEmpty() ? null : fields.get(index);
+        }
+    }
+
+    private record Chunk(long sequence, long end, byte[] bytes) {
+    }
+
+    private record Outcome(long end, long created, long rejected, long invalid) {
+    }
+
+    // state of one importFile call
+    private final class Run {
+
+        private final MovieImportModel job;
+        private final Header header;
+        private final long start;
+        // chunks read but not written yet, bounds the memory held by a slow Mongo
+        private final Semaphore inFlight = new Semaphore(properties.getParallelism() * 2);
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        // guarded by this: finished chunks waiting for an earlier one, and the next chunk the checkpoint needs
+        private final Map<Long, Outcome> finished = new HashMap<>();
+        private long nextSequence;
+        private long records;
+        private final long startedAt = System.nanoTime();
+        private long loggedAt = startedAt;
+
+        private Run(MovieImportModel job, Header header, long start) {
+            this.job = job;
+            this.header = header;
+            this.start = start;
+        }
+
+        private MovieImportModel execute(FileChannel channel) {
+            AtomicInteger threads = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(properties.getParallelism(), task -> {
+                Thread thread = new Thread(task, "movie-import-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                read(channel, workers);
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            } finally {
+                workers.shutdown();
+                awaitTermination(workers);
+            }
+
+            synchronized (this) {
+                logProgress();
+                job.setUpdatedAt(LocalDateTime.now());
+                if (failure.get() != null) {
+                    job.setStatus(MovieImportModel.Status.FAILED);
+                    job.setError(String.valueOf(failure.get().getMessage()));
+                    movieImportRepository.save(job);
+                    throw new IllegalStateException("Import of " + job.getFile() + " failed at byte " + job.getOffset(),
+                            failure.get());
+                }
+                job.setStatus(MovieImportModel.Status.COMPLETED);
+                return movieImportRepository.save(job);
+            }
+        }
+
+        // positional reads of chunkSize, each chunk ends after its last line break; a line longer
+        // than the buffer grows it
+        private void read(FileChannel channel, ExecutorService workers) throws IOException, InterruptedException {
+            byte[] buffer = new byte[properties.getChunkSize()];
+            int filled = 0;
+            long position = start;
+            long sequence = 0;
+            boolean eof = false;
+            while (!eof && failure.get() == null) {
+                if (filled == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                while (filled < buffer.length) {
+                    int read = channel.read(ByteBuffer.wrap(buffer, filled, buffer.length - filled), position + filled);
+                    if (read < 0) {
+                        eof = true;
+                        break;
+                    }
+                    filled += read;
+                }
+                int end = eof ? filled : lastLineBreak(buffer, filled) + 1;
+                if (end == 0) {
+                    continue;
+                }
+                Chunk chunk = new Chunk(sequence++, position + end, Arrays.copyOf(buffer, end));
+                System.arraycopy(buffer, end, buffer, 0, filled - end);
+                filled -= end;
+                position += end;
+
+                inFlight.acquire();
+                workers.execute(() -> process(chunk));
+            }
+        }
+
+        private void process(Chunk chunk) {
+            try {
+                long[] counts = new long[3];
+                List<CreateMovieRequest> batch = new ArrayList<>(properties.getBatchSize());
+                byte[] bytes = chunk.bytes();
+                int lineStart = 0;
+                for (int i = 0; i <= bytes.length; i++) {
+                    if (i < bytes.length && bytes[i] != '\n') {
+                        continue;
+                    }
+                    int lineEnd = i > lineStart && bytes[i - 1] == '\r' ? i - 1 : i;
+                    if (lineEnd > lineStart) {
+                        CreateMovieRequest request = parse(bytes, lineStart, lineEnd - lineStart, header);
+                        if (request == null) {
+                            counts[2]++;
+                        } else {
+                            batch.add(request);
+                            if (batch.size() == properties.getBatchSize()) {
+                                if (!write(batch, counts)) {
+                                    return;
+                                }
+                                batch.clear();
+                            }
+                        }
+                    }
+                    lineStart = i + 1;
+                }
+                if (!write(batch, counts)) {
+                    return;
+                }
+                invalid.increment(counts[2]);
+                finished(chunk.sequence(), new Outcome(chunk.end(), counts[0], counts[1], counts[2]));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        }
+
+        // false once another chunk failed, this one then never counts as finished
+        private boolean write(List<CreateMovieRequest> batch, long[] counts) {
+            if (failure.get() != null) {
+                return false;
+            }
+            if (batch.isEmpty()) {
+                return true;
+            }
+            for (BatchItemStatus status : movieService.createAll(batch)) {
+                if (status.getCode() == 201) {
+                    counts[0]++;
+                    created.increment();
+                } else {
+                    counts[1]++;
+                    rejected.increment();
+                }
+            }
+            return true;
+        }
+
+        private synchronized void finished(long sequence, Outcome outcome) {
+            finished.put(sequence, outcome);
+            Outcome next;
+            boolean advanced = false;
+            while ((next = finished.remove(nextSequence)) != null) {
+                nextSequence++;
+                job.setOffset(next.end());
+                job.setCreated(job.getCreated() + next.created());
+                job.setRejected(job.getRejected() + next.rejected());
+                job.setInvalid(job.getInvalid() + next.invalid());
+                records += next.created() + next.rejected() + next.invalid();
+                advanced = true;
+            }
+            if (advanced) {
+                job.setUpdatedAt(LocalDateTime.now());
+                movieImportRepository.save(job);
+            }
+            if (System.nanoTime() - loggedAt >= properties.getProgressInterval().toNanos()) {
+                logProgress();
+            }
+        }
+
+        private void logProgress() {
+            loggedAt = System.nanoTime();
+            double seconds = Math.max((loggedAt - startedAt) / 1e9, 0.001);
+            log.info("Import of {}: {}% ({} of {} bytes), {} created, {} rejected, {} invalid, {} records/s, {} MB/s",
+                    job.getFile(),
+                    job.getSize() == 0 ? 100 : job.getOffset() * 100 / job.getSize(),
+                    job.getOffset(), job.getSize(), job.getCreated(), job.getRejected(), job.getInvalid(),
+                    Math.round(records / seconds),
+                    String.format(Locale.ROOT, "%.1f", (job.getOffset() - start) / seconds / (1 << 20)));
+        }
+
+        private void awaitTermination(ExecutorService workers) {
+            try {
+                while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.info("Waiting for import workers of {}", job.getFile());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    private static int lastLineBreak(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
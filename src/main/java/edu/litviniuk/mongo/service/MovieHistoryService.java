@@ -0,0 +1,206 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieHistoryService
+  @version 1.0.0
+  @since 18.10.2026 - 21.50
+*/
+
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieHistoryModel;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieHistoryRepository;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.utils.BatchingFlusher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// change history of movies, written in batches by a background thread into the movieHistory time-series
+@Slf4j
+@Service
+@Profile("!reactive")
+public class MovieHistoryService implements MeterBinder {
+
+    private final MovieHistoryRepository movieHistoryRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final MovieProperties movieProperties;
+    private final BlockingQueue<MovieHistoryModel> queue;
+    private final BatchingFlusher<MovieHistoryModel> flusher;
+    private final LongAdder inlineFailures = new LongAdder();
+
+    public MovieHistoryService(MovieHistoryRepository movieHistoryRepository, MongoTemplate mongoTemplate,
+                               AuditorAware<String> auditorAware, MovieProperties movieProperties) {
+        this.movieHistoryRepository = movieHistoryRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.auditorAware = auditorAware;
+        this.movieProperties = movieProperties;
+        MovieProperties.History history = movieProperties.getHistory();
+        this.queue = new ArrayBlockingQueue<>(history.getCapacity());
+        this.flusher = new BatchingFlusher<>("movie-history-writer", queue, history.getBatchSize(),
+                history.getFlushInterval(), this::write);
+    }
+
+    // a time-series collection has to be created explicitly, a first insert would create a plain one
+    @PostConstruct
+    void start() {
+        if (!mongoTemplate.collectionExists(MovieHistoryModel.class)) {
+            try {
+                mongoTemplate.createCollection(MovieHistoryModel.class);
+            } catch (UncategorizedMongoDbException e) {
+                // another instance created it in between
+                if (!mongoTemplate.collectionExists(MovieHistoryModel.class)) {
+                    throw e;
+                }
+            }
+        }
+        flusher.start();
+    }
+
+    // entries still queued are written before the Mongo client goes away
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.stop(movieProperties.getHistory().getShutdownTimeout());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("movies.history.flush.failures", flusher, BatchingFlusher::getFailures)
+                .description("History batches lost after every insert retry failed")
+                .register(registry);
+        FunctionCounter.builder("movies.history.inline.failures", inlineFailures, LongAdder::sum)
+                .description("History inserts made by a caller while the queue was full that failed")
+                .register(registry);
+    }
+
+    public long getInlineFailures() {
+        return inlineFailures.sum();
+    }
+
+    public void movieCreated(MovieModel created, LocalDateTime at) {
+        record(MovieHistoryModel.created(created, at, auditor()));
+    }
+
+    // entries that do not fit into the queue go out as one insert for the batch instead of one each
+    public void moviesCreated(List<MovieModel> created, LocalDateTime at) {
+        List<MovieHistoryModel> overflow = new ArrayList<>();
+        String auditor = auditor();
+        for (MovieModel movie : created) {
+            MovieHistoryModel entry = MovieHistoryModel.created(movie, at, auditor);
+            if (!queue.offer(entry)) {
+                overflow.add(entry);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            insertInline(overflow);
+        }
+    }
+
+    public void movieUpdated(MovieModel previous, MovieModel updated, LocalDateTime at) {
+        record(MovieHistoryModel.updated(previous, updated, at, auditor()));
+    }
+
+    public void movieDeleted(String id, LocalDateTime at) {
+        record(MovieHistoryModel.deleted(id, at, auditor()));
+    }
+
+    public ApiResponse<BaseMetaData, MovieHistoryModel> getHistoryApiResponse(String movieId, String from, String to,
+                                                                            Integer limit) {
+        try {
+            LocalDateTime start = parse(from, LocalDateTime.of(1970, 1, 1, 0, 0));
+            LocalDateTime end = parse(to, LocalDateTime.now().plusYears(1));
+            if (start.isAfter(end)) {
+                throw new IllegalArgumentException("From must not be after to");
+            }
+            int pageSize = movieProperties.getPage().resolveSize(limit);
+            List<MovieHistoryModel> entries = movieHistoryRepository.findByMovieIdAndTimestampBetween(movieId,
+                    Range.closed(start, end), PageRequest.of(0, pageSize, Sort.by("timestamp")));
+            return new ApiResponse<>(BaseMetaData.builder().build(), entries);
+        } catch (IllegalArgumentException e) {
+            return new ApiResponse<>(
+                    BaseMetaData.builder().code(400).success(false).errorMessage(e.getMessage()).build()
+            );
+        }
+    }
+
+    // a full queue means the writer is behind, the caller then pays for its own insert instead of losing it
+    private void record(MovieHistoryModel entry) {
+        if (!queue.offer(entry)) {
+            insertInline(List.of(entry));
+        }
+    }
+
+    // the movie write is already committed, a failure here is counted and logged like a failed flush
+    // instead of turning that write into an error the client would retry
+    private void insertInline(List<MovieHistoryModel> entries) {
+        try {
+            movieHistoryRepository.insert(entries);
+        } catch (RuntimeException e) {
+            inlineFailures.increment();
+            log.error("History insert of {} entries failed, they are lost", entries.size(), e);
+        }
+    }
+
+    // an audit trail must not drop entries on a Mongo blip, so the batch is retried with backoff before
+    // the flusher gives up on it. A retry after a partial insert may store an entry twice, which beats losing it.
+    private void write(List<MovieHistoryModel> batch) {
+        MovieProperties.History history = movieProperties.getHistory();
+        long backoff = history.getRetryBackoff().toMillis();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                movieHistoryRepository.insert(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= history.getFlushRetries()) {
+                    throw e;
+                }
+                log.warn("History insert of {} entries failed, retrying in {} ms", batch.size(), backoff, e);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while retrying a history insert", e);
+            }
+            backoff *= 2;
+        }
+    }
+
+    private String auditor() {
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+
+    private static LocalDateTime parse(String value, LocalDateTime defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+}
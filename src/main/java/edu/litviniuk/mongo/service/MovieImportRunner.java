@@ -0,0 +1,43 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieImportRunner
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.config.MovieProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+// java -jar mongo.jar --movies.file-import.file=catalog.ndjson --spring.main.web-application-type=none
+// a failed import stops the startup, running the same command again resumes from the checkpoint
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "movies.file-import", name = "file")
+@RequiredArgsConstructor
+public class MovieImportRunner implements ApplicationRunner {
+
+    private final MovieFileImporter movieFileImporter;
+    private final MovieProperties movieProperties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        MovieProperties.FileImport properties = movieProperties.getFileImport();
+        movieFileImporter.importFile(Path.of(properties.getFile()));
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
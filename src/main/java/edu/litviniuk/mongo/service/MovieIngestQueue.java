@@ -0,0 +1,156 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieIngestQueue
+  @version 1.0.0
+  @since 18.10.2026 - 20.10
+*/
+
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.response.BatchItemStatus;
+import edu.litviniuk.mongo.utils.BatchingFlusher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// write-behind creates: requests are acknowledged with 202 and inserted later by one flusher thread
+// in batches of up to batchSize, or whatever arrived within flushInterval. Not durable: anything
+// still queued when the process dies is lost, a clean shutdown flushes first.
+@Service
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "movies.ingest", name = "enabled", havingValue = "true")
+public class MovieIngestQueue {
+
+    private final MovieService movieService;
+    private final MovieProperties.Ingest properties;
+    private final int maxRequestSize;
+
+    private final BlockingQueue<CreateMovieRequest> queue = new LinkedBlockingQueue<>();
+    // one permit per queued or in-flight request, so a whole request is either accepted or refused
+    private final Semaphore capacity;
+    private final BatchingFlusher<CreateMovieRequest> flusher;
+    // guarded by this
+    private boolean accepting = true;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter created;
+    private final Counter rejected;
+    private final Counter failed;
+    private final Counter throttled;
+
+    public MovieIngestQueue(MovieService movieService, MovieProperties movieProperties, MeterRegistry meterRegistry) {
+        this.movieService = movieService;
+        this.properties = movieProperties.getIngest();
+        this.maxRequestSize = movieProperties.getBatch().getMaxSize();
+        this.capacity = new Semaphore(properties.getCapacity());
+        this.flusher = new BatchingFlusher<>("movie-ingest-flusher", queue, properties.getBatchSize(),
+                properties.getFlushInterval(), this::flush);
+
+        Gauge.builder("movies.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Create requests waiting for the next flush")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("movies.ingest.flush")
+                .description("Time to insert one batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("movies.ingest.batch.size").register(meterRegistry);
+        this.created = itemCounter(meterRegistry, "created");
+        this.rejected = itemCounter(meterRegistry, "rejected");
+        this.failed = itemCounter(meterRegistry, "failed");
+        this.throttled = Counter.builder("movies.ingest.throttled")
+                .description("Ingest requests answered with 429 because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.start();
+    }
+
+    public ApiResponse<BaseMetaData, Void> enqueueApiResponse(List<CreateMovieRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxRequestSize) {
+            return new ApiResponse<>(
+                    BaseMetaData.builder().code(400).success(false)
+                            .errorMessage("Batch must contain between 1 and " + maxRequestSize + " movies").build()
+            );
+        }
+        // a bad item would fail the coalesced batch on the flusher thread, with other clients' items in it
+        for (int i = 0; i < requests.size(); i++) {
+            CreateMovieRequest request = requests.get(i);
+            if (request == null || request.title() == null || request.title().isBlank()) {
+                return new ApiResponse<>(
+                        BaseMetaData.builder().code(400).success(false)
+                                .errorMessage("Title is required at index " + i).build()
+                );
+            }
+        }
+        // same lock as shutdown, so nothing is acknowledged after the final drain started
+        synchronized (this) {
+            if (!accepting) {
+                return new ApiResponse<>(
+                        BaseMetaData.builder().code(503).success(false).errorMessage("Ingest is shutting down").build()
+                );
+            }
+            if (!capacity.tryAcquire(requests.size())) {
+                throttled.increment();
+                return new ApiResponse<>(
+                        BaseMetaData.builder().code(429).success(false).errorMessage("Ingest queue is full").build()
+                );
+            }
+            queue.addAll(requests);
+        }
+        return new ApiResponse<>(BaseMetaData.builder().code(202).build());
+    }
+
+    // stop accepting, let the flusher drain what is queued, then return so Mongo can be closed
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        synchronized (this) {
+            accepting = false;
+        }
+        flusher.stop(properties.getShutdownTimeout());
+    }
+
+    // createAll does the duplicate-title check and one unordered insertMany for the batch,
+    // permits come back only afterwards so backpressure follows Mongo throughput
+    private void flush(List<CreateMovieRequest> batch) {
+        batchSizes.record(batch.size());
+        long start = System.nanoTime();
+        try {
+            for (BatchItemStatus status : movieService.createAll(batch)) {
+                (status.getCode() == 201 ? created : rejected).increment();
+            }
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            capacity.release(batch.size());
+        }
+    }
+
+    private static Counter itemCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("movies.ingest.items")
+                .description("Queued movies by flush outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
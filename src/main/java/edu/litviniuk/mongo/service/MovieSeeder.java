@@ -0,0 +1,49 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieSeeder
+  @version 1.0.0
+  @since 18.10.2026 - 21.00
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// demo data for local runs, movies.seed.enabled=true; one bulk upsert that never overwrites existing ids,
+// the fixed ObjectIds keep it idempotent
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "movies.seed", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class MovieSeeder implements ApplicationRunner {
+
+    private final MovieRepository movieRepository;
+    private final GenreStatsService genreStatsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<MovieModel> inserted = movieRepository.insertIfAbsent(List.of(
+                seed("000000000000000000000001", "Inception", "A mind-bending thriller", "Sci-Fi"),
+                seed("000000000000000000000002", "The Godfather", "A story about a powerful mafia family", "Crime"),
+                seed("000000000000000000000003", "The Dark Knight", "A superhero battles crime in Gotham", "Action")));
+        genreStatsService.moviesCreated(inserted.stream().map(MovieModel::getGenre).toList());
+    }
+
+    private static MovieModel seed(String id, String title, String description, String genre) {
+        MovieModel movie = new MovieModel(id, title, description, genre);
+        movie.setCreateDate(LocalDateTime.now());
+        movie.setVersion(0L);
+        return movie;
+    }
+}
@@ -8,96 +8,255 @@ package edu.litviniuk.mongo.service;
   @since 17.04.2025 - 18.17
 */
 
+import com.mongodb.bulk.BulkWriteError;
+import edu.litviniuk.mongo.cache.MovieCache;
+import edu.litviniuk.mongo.cache.MovieCatalogSnapshot;
+import edu.litviniuk.mongo.cache.MovieReadCoalescer;
+import edu.litviniuk.mongo.config.MovieProperties;
 import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieQueries;
 import edu.litviniuk.mongo.repository.MovieRepository;
+import edu.litviniuk.mongo.repository.MovieSort;
 import edu.litviniuk.mongo.request.CreateMovieRequest;
 import edu.litviniuk.mongo.request.UpdateMovieRequest;
 import edu.litviniuk.mongo.response.ApiResponse;
 import edu.litviniuk.mongo.response.BaseMetaData;
-import jakarta.annotation.PostConstruct;
+import edu.litviniuk.mongo.response.BatchItemStatus;
+import edu.litviniuk.mongo.response.CacheStatsResponse;
+import edu.litviniuk.mongo.utils.MovieFields;
+import edu.litviniuk.mongo.utils.MovieIds;
+import edu.litviniuk.mongo.utils.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class MovieService {
 
+    private static final int DUPLICATE_KEY_CODE = 11000;
+    private static final String MOVIE_MODIFIED = "Movie was modified";
+    private static final String TITLE_REQUIRED = "Title is required";
+
     private final MovieRepository movieRepository;
+    private final MovieProperties movieProperties;
+    private final MovieCache movieCache;
+    private final MovieReadCoalescer readCoalescer;
+    private final MovieCatalogSnapshot catalogSnapshot;
+    private final GenreStatsService genreStatsService;
+    private final MovieHistoryService movieHistoryService;
 
-    private List<MovieModel> movies = new ArrayList<>();
 
+    public MovieModel getMovieById(String id) {
+        return findById(id).orElse(null);
+    }
 
-    @PostConstruct
-    void init()    {
-        movies.add(new MovieModel("1", "Inception", "A mind-bending thriller", "Sci-Fi"));
-        movies.add(new MovieModel("2","The Godfather", "A story about a powerful mafia family", "Crime"));
-        movies.add(new MovieModel("3","The Dark Knight", "A superhero battles crime in Gotham", "Action"));
-        movieRepository.saveAll(movies);
+    public MovieModel addMovie(MovieModel movie) {
+        if (movie.getId() != null && !MovieIds.isValid(movie.getId())) {
+            throw new IllegalArgumentException("Invalid movie id");
+        }
+        requireTitle(movie.getTitle());
+        // a versioned save replaces an existing document, its old values are needed for counters and history
+        MovieModel previous = movie.getVersion() == null || movie.getId() == null ? null
+                : movieRepository.findProjectedById(movie.getId(), Set.of("title", "description", "genre")).orElse(null);
+        MovieModel saved;
+        try {
+            saved = movieRepository.save(movie);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(duplicateMessage(e));
+        } catch (OptimisticLockingFailureException e) {
+            throw new OptimisticLockingFailureException(MOVIE_MODIFIED, e);
+        }
+        movieCache.invalidate(saved.getId());
+        readCoalescer.writeCompleted();
+        catalogSnapshot.movieSaved(saved);
+        LocalDateTime now = LocalDateTime.now();
+        if (previous == null) {
+            genreStatsService.movieCreated(saved.getGenre());
+            movieHistoryService.movieCreated(saved, now);
+        } else {
+            genreStatsService.movieUpdated(previous.getGenre(), saved.getGenre(), now);
+            movieHistoryService.movieUpdated(previous, saved, now);
+        }
+        return saved;
+    }
 
+    public MovieModel create(CreateMovieRequest request) {
+        requireTitle(request.title());
+        MovieModel movie = mapToEntity(request);
+        movie.setCreateDate(LocalDateTime.now());
+        MovieModel created;
+        try {
+            created = movieRepository.insert(movie);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(duplicateMessage(e));
+        }
+        readCoalescer.writeCompleted();
+        catalogSnapshot.movieSaved(created);
+        genreStatsService.movieCreated(created.getGenre());
+        movieHistoryService.movieCreated(created, created.getCreateDate());
+        return created;
     }
 
+    // one $in query for duplicate titles and one unordered bulk insert for the whole batch
+    public List<BatchItemStatus> createAll(List<CreateMovieRequest> requests) {
+        Set<String> existingTitles = movieRepository.findExistingTitles(requests.stream()
+                .filter(Objects::nonNull)
+                .map(CreateMovieRequest::title)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
 
+        List<BatchItemStatus> statuses = new ArrayList<>(requests.size());
+        List<MovieModel> toInsert = new ArrayList<>();
+        List<BatchItemStatus> pending = new ArrayList<>();
+        Set<String> batchTitles = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateMovieRequest request = requests.get(i);
+            BatchItemStatus status = BatchItemStatus.builder().index(i)
+                    .title(request == null ? null : request.title()).build();
+            if (request == null || request.title() == null || request.title().isBlank()) {
+                rejectItem(status, TITLE_REQUIRED);
+            } else if (existingTitles.contains(request.title())) {
+                rejectItem(status, "Title already exists");
+            } else if (!batchTitles.add(request.title())) {
+                rejectItem(status, "Duplicate title in batch");
+            } else {
+                MovieModel movie = mapToEntity(request);
+                movie.setId(new ObjectId().toHexString());
+                movie.setCreateDate(now);
+                movie.setVersion(0L);
+                status.setId(movie.getId());
+                toInsert.add(movie);
+                pending.add(status);
+            }
+            statuses.add(status);
+        }
 
-    public List<MovieModel> getAllMovies() {
-        return movieRepository.findAll();
+        if (!toInsert.isEmpty()) {
+            try {
+                movieRepository.insertUnordered(toInsert);
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    BatchItemStatus failed = pending.get(error.getIndex());
+                    failed.setId(null);
+                    rejectItem(failed, error.getCode() == DUPLICATE_KEY_CODE ? "Title already exists" : error.getMessage());
+                }
+            }
+            readCoalescer.writeCompleted();
+            List<MovieModel> created = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                if (pending.get(i).getCode() == 201) {
+                    created.add(toInsert.get(i));
+                }
+            }
+            catalogSnapshot.moviesSaved(created);
+            genreStatsService.moviesCreated(created.stream().map(MovieModel::getGenre).toList());
+            movieHistoryService.moviesCreated(created, now);
+        }
+        return statuses;
     }
 
-    public MovieModel getMovieById(int id) {
-        return movieRepository.findById(String.valueOf(id)).orElse(null);
+    public MovieModel updateMovie(String id, MovieModel movie, Long expectedVersion) {
+        return update(new UpdateMovieRequest(id, movie.getTitle(), movie.getDescription(), movie.getGenre()),
+                expectedVersion);
     }
 
-    public MovieModel addMovie(MovieModel movie) {
-        return movieRepository.save(movie);
+    public MovieModel update(UpdateMovieRequest request) {
+        return update(request, null);
     }
 
-    public MovieModel create(CreateMovieRequest request) {
-        if (movieRepository.existsByTitle(request.title())) {
-            throw new IllegalArgumentException("Title already exists");
+    public MovieModel update(UpdateMovieRequest request, Long expectedVersion) {
+        // Mongo stores millisecond precision, the rebuilt document has to match what was written
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        if (!MovieIds.isValid(request.id())) {
+            throw new IllegalArgumentException("Movie not found");
         }
-        MovieModel movie = mapToEntity(request);
-        movie.setCreateDate(LocalDateTime.now());
-        movie.setUpdateDate(new ArrayList<>());
-        return movieRepository.save(movie);
+        requireTitle(request.title());
+        MovieModel previous;
+        try {
+            previous = movieRepository.applyUpdate(request.id(), expectedVersion, request.title(),
+                    request.description(), request.genre(), updatedAt);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("Movie already exists");
+        }
+        if (previous == null) {
+            // the extra lookup only happens on the failure path to tell a conflict from a missing movie
+            if (expectedVersion != null && movieRepository.existsById(request.id())) {
+                throw new OptimisticLockingFailureException(MOVIE_MODIFIED);
+            }
+            throw new IllegalArgumentException("Movie not found");
+        }
+        movieCache.invalidate(request.id());
+        readCoalescer.writeCompleted();
+        genreStatsService.movieUpdated(previous.getGenre(), request.genre(), updatedAt);
+        MovieModel updated = MovieQueries.applied(previous, request.title(), request.description(), request.genre(),
+                updatedAt);
+        catalogSnapshot.movieSaved(updated);
+        movieHistoryService.movieUpdated(previous, updated, updatedAt);
+        return updated;
     }
 
-    public MovieModel updateMovie(MovieModel movie) {
-        return movieRepository.save(movie);
+    public void deleteMovie(String id) {
+        remove(id);
     }
 
-    public MovieModel update(UpdateMovieRequest request) {
-        MovieModel movieToUpdate = movieRepository.findById(request.id()).orElseThrow(
-                () -> new IllegalArgumentException("Movie not found")
-        );
-
-        if (!request.title().equals(movieToUpdate.getTitle())
-                && movieRepository.existsByTitle(request.title())) {
-            throw new IllegalArgumentException("Movie already exists");
-        }
-        List<LocalDateTime> updateDates = movieToUpdate.getUpdateDate();
-        if (updateDates == null) {
-            updateDates = new ArrayList<>();
+    // findAndRemove hands back the genre so the counter can be decremented without another read
+    private boolean remove(String id) {
+        if (!MovieIds.isValid(id)) {
+            return false;
         }
+        Optional<MovieModel> removed = movieRepository.removeById(id);
+        movieCache.invalidate(id);
+        readCoalescer.writeCompleted();
+        removed.ifPresent(movie -> {
+            catalogSnapshot.movieDeleted(id);
+            genreStatsService.movieDeleted(movie.getGenre());
+            movieHistoryService.movieDeleted(id, LocalDateTime.now());
+        });
+        return removed.isPresent();
+    }
 
-        updateDates.add(LocalDateTime.now());
+    // a cache miss under a thundering herd still sends one query, also with the cache disabled
+    private Optional<MovieModel> findById(String id) {
+        if (!MovieIds.isValid(id)) {
+            return Optional.empty();
+        }
+        return movieCache.get(id, key -> readCoalescer.findOne(key, () -> movieRepository.findById(key)));
+    }
 
-        MovieModel itemToUpdate = MovieModel.builder()
-                .id(request.id())
-                .title(request.title())
-                .genre(request.genre())
-                .description(request.description())
-                .createDate(movieToUpdate.getCreateDate())
-                .updateDate(updateDates)
-                .build();
+    // the unique title index is not sparse, a second movie without a title would collide on null
+    private static void requireTitle(String title) {
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException(TITLE_REQUIRED);
+        }
+    }
 
-        return movieRepository.save(itemToUpdate);
+    // the E11000 message names the index that refused the write, a client-supplied id can collide as well
+    private static String duplicateMessage(DuplicateKeyException e) {
+        String message = e.getMessage();
+        return message != null && message.contains("index: _id_") ? "Movie id already exists" : "Title already exists";
     }
 
-    public void deleteMovie(int id) {
-        movieRepository.deleteById(String.valueOf(id));
+    private void rejectItem(BatchItemStatus status, String errorMessage) {
+        status.setCode(400);
+        status.setErrorMessage(errorMessage);
     }
 
     private MovieModel mapToEntity(CreateMovieRequest request) {
@@ -106,16 +265,85 @@ public class MovieService {
 
     // new methods with api response
 
-    public ApiResponse<BaseMetaData, MovieModel> getAllMoviesApiResponse() {
-        List<MovieModel> allMovies = movieRepository.findAll();
-        return new ApiResponse<>(
-                BaseMetaData.builder().build(), // default 200/success
-                allMovies
-        );
+    public ApiResponse<BaseMetaData, MovieModel> getAllMoviesApiResponse(String cursor, Integer limit, String sort,
+                                                                         String fields, String view) {
+        try {
+            PageCursor after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+            MovieSort movieSort = MovieSort.resolve(after, sort);
+            int pageSize = movieProperties.getPage().resolveSize(limit);
+            Set<String> projection = MovieFields.resolve(fields, view);
+
+            // one extra document tells whether there is a next page without a count query
+            List<MovieModel> page = readCoalescer.findList(new PageRead(movieSort, after, pageSize + 1, projection),
+                    () -> movieRepository.findPage(movieSort, after, pageSize + 1, projection));
+            String nextCursor = null;
+            if (page.size() > pageSize) {
+                page = page.subList(0, pageSize);
+                nextCursor = PageCursor.after(movieSort, page.get(pageSize - 1)).encode();
+            }
+            return new ApiResponse<>(
+                    BaseMetaData.builder().nextCursor(nextCursor).build(), // default 200/success
+                    page
+            );
+        } catch (IllegalArgumentException e) {
+            return new ApiResponse<>(
+                    BaseMetaData.builder().code(400).success(false).errorMessage(e.getMessage()).build()
+            );
+        }
     }
 
-    public ApiResponse<BaseMetaData, MovieModel> getMovieByIdApiResponse(String id) {
-        MovieModel movie = movieRepository.findById(id).orElse(null);
+    public ApiResponse<BaseMetaData, MovieModel> searchMoviesApiResponse(String text, String genre, Integer page, Integer limit,
+                                                                         String fields, String view) {
+        try {
+            if (text == null || text.isBlank()) {
+                throw new IllegalArgumentException("Search text is required");
+            }
+            int pageNumber = page == null ? 0 : page;
+            if (pageNumber < 0) {
+                throw new IllegalArgumentException("Page must not be negative");
+            }
+            int pageSize = movieProperties.getPage().resolveSize(limit);
+            long skip = (long) pageNumber * pageSize;
+            if (skip > movieProperties.getSearch().getMaxOffset()) {
+                throw new IllegalArgumentException("Page is too deep, refine the search");
+            }
+            // search results default to the summary view, full documents only on request
+            boolean defaultView = (fields == null || fields.isBlank()) && (view == null || view.isBlank());
+            Set<String> projection = defaultView ? MovieFields.SUMMARY : MovieFields.resolve(fields, view);
+            String genreFilter = genre == null || genre.isBlank() ? null : genre;
+
+            List<MovieModel> found = readCoalescer.findList(new SearchRead(text, genreFilter, skip, pageSize + 1, projection),
+                    () -> movieRepository.search(text, genreFilter, skip, pageSize + 1, projection));
+            String nextPage = null;
+            if (found.size() > pageSize) {
+                found = found.subList(0, pageSize);
+                nextPage = String.valueOf(pageNumber + 1);
+            }
+            return new ApiResponse<>(
+                    BaseMetaData.builder().nextCursor(nextPage).build(),
+                    found
+            );
+        } catch (IllegalArgumentException e) {
+            return new ApiResponse<>(
+                    BaseMetaData.builder().code(400).success(false).errorMessage(e.getMessage()).build()
+            );
+        }
+    }
+
+    public ApiResponse<BaseMetaData, MovieModel> getMovieByIdApiResponse(String id, String fields, String view) {
+        Set<String> projection;
+        try {
+            projection = MovieFields.resolve(fields, view);
+        } catch (IllegalArgumentException e) {
+            return new ApiResponse<>(
+                    BaseMetaData.builder().code(400).success(false).errorMessage(e.getMessage()).build()
+            );
+        }
+        // projected reads skip the cache, which only holds full documents
+        MovieModel movie = (projection == null || !MovieIds.isValid(id)
+                ? findById(id)
+                : readCoalescer.findOne(new ProjectedRead(id, projection),
+                        () -> movieRepository.findProjectedById(id, projection))).orElse(null);
         if (movie == null) {
             return new ApiResponse<>(
                     BaseMetaData.builder().code(404).success(false).errorMessage("Movie not found").build()
@@ -135,25 +363,58 @@ public class MovieService {
         }
     }
 
-    public ApiResponse<BaseMetaData, MovieModel> updateMovieApiResponse(UpdateMovieRequest request) {
+    public ApiResponse<BaseMetaData, BatchItemStatus> createMoviesApiResponse(List<CreateMovieRequest> requests) {
+        int maxSize = movieProperties.getBatch().getMaxSize();
+        if (requests == null || requests.isEmpty() || requests.size() > maxSize) {
+            return new ApiResponse<>(
+                    BaseMetaData.builder().code(400).success(false)
+                            .errorMessage("Batch must contain between 1 and " + maxSize + " movies").build()
+            );
+        }
+        List<BatchItemStatus> statuses = createAll(requests);
+        boolean anyCreated = statuses.stream().anyMatch(status -> status.getCode() == 201);
+        BaseMetaData meta = anyCreated
+                ? BaseMetaData.builder().code(201).build()
+                : BaseMetaData.builder().code(400).success(false).errorMessage("No movies created").build();
+        return new ApiResponse<>(meta, statuses);
+    }
+
+    public ApiResponse<BaseMetaData, MovieModel> updateMovieApiResponse(UpdateMovieRequest request, Long expectedVersion) {
         try {
-            MovieModel updated = update(request);
+            MovieModel updated = update(request, expectedVersion);
             return new ApiResponse<>(BaseMetaData.builder().build(), updated);
         } catch (IllegalArgumentException e) {
             int code = e.getMessage().equals("Movie not found") ? 404 : 400;
             return new ApiResponse<>(
                     BaseMetaData.builder().code(code).success(false).errorMessage(e.getMessage()).build()
             );
+        } catch (OptimisticLockingFailureException e) {
+            return new ApiResponse<>(
+                    BaseMetaData.builder().code(412).success(false).errorMessage(MOVIE_MODIFIED).build()
+            );
         }
     }
 
     public ApiResponse<BaseMetaData, Void> deleteMovieApiResponse(String id) {
-        if (!movieRepository.existsById(id)) {
+        if (!remove(id)) {
             return new ApiResponse<>(
                     BaseMetaData.builder().code(404).success(false).errorMessage("Movie not found").build()
             );
         }
-        movieRepository.deleteById(id);
         return new ApiResponse<>(BaseMetaData.builder().build());
     }
+
+    public ApiResponse<BaseMetaData, CacheStatsResponse> getCacheStatsApiResponse() {
+        return new ApiResponse<>(BaseMetaData.builder().build(), movieCache.stats());
+    }
+
+    // keys for coalescing, equal reads share one query
+    private record PageRead(MovieSort sort, PageCursor after, int limit, Set<String> projection) {
+    }
+
+    private record SearchRead(String text, String genre, long skip, int limit, Set<String> projection) {
+    }
+
+    private record ProjectedRead(String id, Set<String> projection) {
+    }
 }
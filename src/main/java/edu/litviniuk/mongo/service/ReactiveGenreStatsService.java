@@ -0,0 +1,39 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveGenreStatsService
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.model.GenreStatsModel;
+import edu.litviniuk.mongo.repository.ReactiveGenreStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// per-genre counters maintained by ReactiveMovieService, the "reactive" counterpart of GenreStatsService
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveGenreStatsService {
+
+    private final ReactiveGenreStatsRepository genreStatsRepository;
+
+    public Mono<Void> movieCreated(String genre) {
+        return genreStatsRepository.incrementMovieCount(GenreStatsModel.key(genre), 1);
+    }
+
+    public Mono<Void> movieUpdated(String previousGenre, String genre, LocalDateTime updatedAt) {
+        return genreStatsRepository.recordUpdate(GenreStatsModel.key(previousGenre), GenreStatsModel.key(genre), updatedAt);
+    }
+
+    public Mono<Void> movieDeleted(String genre) {
+        return genreStatsRepository.incrementMovieCount(GenreStatsModel.key(genre), -1);
+    }
+}
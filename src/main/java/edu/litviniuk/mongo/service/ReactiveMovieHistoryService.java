@@ -0,0 +1,99 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveMovieHistoryService
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieHistoryModel;
+import edu.litviniuk.mongo.model.MovieModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+
+// counterpart of MovieHistoryService for the "reactive" profile. An insert is one non-blocking round trip,
+// so the entry is written as part of the request instead of going through a queue and a writer thread.
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveMovieHistoryService {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReactiveAuditorAware<String> auditorAware;
+    private final MovieProperties movieProperties;
+    private final Counter failures;
+
+    public ReactiveMovieHistoryService(ReactiveMongoTemplate reactiveMongoTemplate, ReactiveAuditorAware<String> auditorAware,
+                                       MovieProperties movieProperties, MeterRegistry meterRegistry) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.auditorAware = auditorAware;
+        this.movieProperties = movieProperties;
+        this.failures = Counter.builder("movies.history.flush.failures")
+                .description("History batches lost after every insert retry failed")
+                .register(meterRegistry);
+    }
+
+    // a time-series collection has to be created explicitly, a first insert would create a plain one
+    @PostConstruct
+    void start() {
+        if (!Boolean.TRUE.equals(reactiveMongoTemplate.collectionExists(MovieHistoryModel.class).block())) {
+            try {
+                reactiveMongoTemplate.createCollection(MovieHistoryModel.class).block();
+            } catch (UncategorizedMongoDbException e) {
+                // another instance created it in between
+                if (!Boolean.TRUE.equals(reactiveMongoTemplate.collectionExists(MovieHistoryModel.class).block())) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public Mono<Void> movieCreated(MovieModel created, LocalDateTime at) {
+        return record(auditor -> MovieHistoryModel.created(created, at, auditor));
+    }
+
+    public Mono<Void> movieUpdated(MovieModel previous, MovieModel updated, LocalDateTime at) {
+        return record(auditor -> MovieHistoryModel.updated(previous, updated, at, auditor));
+    }
+
+    public Mono<Void> movieDeleted(String id, LocalDateTime at) {
+        return record(auditor -> MovieHistoryModel.deleted(id, at, auditor));
+    }
+
+    private Mono<Void> record(Function<String, MovieHistoryModel> entry) {
+        return auditorAware.getCurrentAuditor()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(auditor -> insert(entry.apply(auditor.orElse(null))));
+    }
+
+    // the movie itself is already written, so a history insert that keeps failing is logged and counted
+    // like a dropped batch on the blocking side instead of failing the request
+    private Mono<Void> insert(MovieHistoryModel entry) {
+        MovieProperties.History history = movieProperties.getHistory();
+        return reactiveMongoTemplate.insert(entry)
+                .retryWhen(Retry.backoff(history.getFlushRetries(), history.getRetryBackoff()))
+                .doOnError(e -> {
+                    failures.increment();
+                    log.error("History entry for movie {} dropped after a failed insert", entry.getMovieId(), e);
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+}
@@ -0,0 +1,149 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveMovieService
+  @version 1.0.0
+  @since 18.10.2026 - 15.10
+*/
+
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieQueries;
+import edu.litviniuk.mongo.repository.MovieSort;
+import edu.litviniuk.mongo.repository.ReactiveMovieRepository;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.request.UpdateMovieRequest;
+import edu.litviniuk.mongo.response.ApiResponse;
+import edu.litviniuk.mongo.response.BaseMetaData;
+import edu.litviniuk.mongo.utils.MovieFields;
+import edu.litviniuk.mongo.utils.MovieIds;
+import edu.litviniuk.mongo.utils.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+// non-blocking counterpart of MovieService's api response methods, active with the "reactive" profile
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveMovieService {
+
+    private final ReactiveMovieRepository movieRepository;
+    private final MovieProperties movieProperties;
+    private final ReactiveGenreStatsService genreStatsService;
+    private final ReactiveMovieHistoryService movieHistoryService;
+
+    public Mono<ApiResponse<BaseMetaData, MovieModel>> getAllMoviesApiResponse(String cursor, Integer limit, String sort,
+                                                                               String fields, String view) {
+        PageCursor after;
+        MovieSort movieSort;
+        int pageSize;
+        Set<String> projection;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+            movieSort = MovieSort.resolve(after, sort);
+            pageSize = movieProperties.getPage().resolveSize(limit);
+            projection = MovieFields.resolve(fields, view);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(error(400, e.getMessage()));
+        }
+
+        return movieRepository.findPage(movieSort, after, pageSize + 1, projection)
+                .collectList()
+                .map(page -> {
+                    String nextCursor = null;
+                    if (page.size() > pageSize) {
+                        page = page.subList(0, pageSize);
+                        nextCursor = PageCursor.after(movieSort, page.get(pageSize - 1)).encode();
+                    }
+                    return new ApiResponse<>(BaseMetaData.builder().nextCursor(nextCursor).build(), page);
+                });
+    }
+
+    public Mono<ApiResponse<BaseMetaData, MovieModel>> getMovieByIdApiResponse(String id, String fields, String view) {
+        Set<String> projection;
+        try {
+            projection = MovieFields.resolve(fields, view);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(error(400, e.getMessage()));
+        }
+        if (!MovieIds.isValid(id)) {
+            return Mono.just(error(404, "Movie not found"));
+        }
+        Mono<MovieModel> movie = projection == null
+                ? movieRepository.findById(id)
+                : movieRepository.findProjectedById(id, projection);
+        return movie
+                .map(found -> new ApiResponse<BaseMetaData, MovieModel>(BaseMetaData.builder().build(), found))
+                .defaultIfEmpty(error(404, "Movie not found"));
+    }
+
+    public Mono<ApiResponse<BaseMetaData, MovieModel>> createMovieApiResponse(CreateMovieRequest request) {
+        // the unique title index is not sparse, a second movie without a title would collide on null
+        if (isBlank(request.title())) {
+            return Mono.just(error(400, "Title is required"));
+        }
+        MovieModel movie = new MovieModel(request.title(), request.description(), request.genre());
+        movie.setCreateDate(LocalDateTime.now());
+        return movieRepository.insert(movie)
+                .flatMap(created -> Mono.when(genreStatsService.movieCreated(created.getGenre()),
+                                movieHistoryService.movieCreated(created, created.getCreateDate()))
+                        .thenReturn(created))
+                .map(created -> new ApiResponse<BaseMetaData, MovieModel>(BaseMetaData.builder().code(201).build(), created))
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(error(400, "Title already exists")));
+    }
+
+    public Mono<ApiResponse<BaseMetaData, MovieModel>> updateMovieApiResponse(UpdateMovieRequest request, Long expectedVersion) {
+        if (!MovieIds.isValid(request.id())) {
+            return Mono.just(error(404, "Movie not found"));
+        }
+        if (isBlank(request.title())) {
+            return Mono.just(error(400, "Title is required"));
+        }
+        // Mongo stores millisecond precision, the rebuilt document has to match what was written
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        return movieRepository.applyUpdate(request.id(), expectedVersion, request.title(), request.description(),
+                        request.genre(), updatedAt)
+                .flatMap(previous -> {
+                    MovieModel updated = MovieQueries.applied(previous, request.title(), request.description(),
+                            request.genre(), updatedAt);
+                    return Mono.when(genreStatsService.movieUpdated(previous.getGenre(), updated.getGenre(), updatedAt),
+                                    movieHistoryService.movieUpdated(previous, updated, updatedAt))
+                            .thenReturn(updated);
+                })
+                .map(updated -> new ApiResponse<BaseMetaData, MovieModel>(BaseMetaData.builder().build(), updated))
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(error(400, "Movie already exists")))
+                .switchIfEmpty(Mono.defer(() -> expectedVersion == null
+                        ? Mono.just(error(404, "Movie not found"))
+                        : movieRepository.existsById(request.id())
+                                .map(exists -> exists ? error(412, "Movie was modified") : error(404, "Movie not found"))));
+    }
+
+    public Mono<ApiResponse<BaseMetaData, Void>> deleteMovieApiResponse(String id) {
+        if (!MovieIds.isValid(id)) {
+            return Mono.just(error(404, "Movie not found"));
+        }
+        // findAndRemove hands back the genre and tells a deleted movie from a missing one in a single round trip
+        return movieRepository.removeById(id)
+                .flatMap(removed -> Mono.when(genreStatsService.movieDeleted(removed.getGenre()),
+                                movieHistoryService.movieDeleted(id, LocalDateTime.now()))
+                        .thenReturn(new ApiResponse<BaseMetaData, Void>(BaseMetaData.builder().build())))
+                .defaultIfEmpty(error(404, "Movie not found"));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static <D> ApiResponse<BaseMetaData, D> error(int code, String message) {
+        return new ApiResponse<>(BaseMetaData.builder().code(code).success(false).errorMessage(message).build());
+    }
+}
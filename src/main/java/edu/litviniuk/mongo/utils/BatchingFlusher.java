@@ -0,0 +1,92 @@
+package edu.litviniuk.mongo.utils;
+
+/*
+  @author darin
+  @project mongo
+  @class BatchingFlusher
+  @version 1.0.0
+  @since 18.10.2026 - 21.30
+*/
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// one background thread that drains a queue into batches of up to batchSize, or whatever arrived
+// within interval of the first element; after stop() it keeps going until the queue is empty
+@Slf4j
+public class BatchingFlusher<T> {
+
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long interval;
+    private final Consumer<List<T>> flush;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private final LongAdder failures = new LongAdder();
+
+    public BatchingFlusher(String name, BlockingQueue<T> queue, int batchSize, Duration interval, Consumer<List<T>> flush) {
+        this.queue = queue;
+        this.batchSize = batchSize;
+        this.interval = interval.toNanos();
+        this.flush = flush;
+        this.thread = new Thread(this::run, name);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public void stop(Duration timeout) throws InterruptedException {
+        running = false;
+        thread.join(timeout.toMillis());
+    }
+
+    // batches dropped because flush threw, owners expose it as their *.flush.failures counter
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(interval, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + interval;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush.accept(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // the thread has to outlive a failed flush; callbacks that must not lose a batch retry
+                // before they give up, whatever still throws is dropped here
+                failures.increment();
+                log.error("{} dropped a batch of {} after a failed flush", thread.getName(), batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
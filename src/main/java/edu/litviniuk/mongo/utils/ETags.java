@@ -0,0 +1,82 @@
+package edu.litviniuk.mongo.utils;
+
+/*
+  @author darin
+  @project mongo
+  @class ETags
+  @version 1.0.0
+  @since 18.10.2026 - 13.20
+*/
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+public class ETags {
+
+    public static final Long NEVER_MATCHES = -1L;
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    public static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    // JSON keeps the bare version; CBOR and Smile bodies of the same version are other bytes, so they get
+    // their own tag ("5-cbor") and a cache never answers one format with another
+    public static String of(Long version, String accept) {
+        return version == null ? null : "\"" + version + formatSuffix(accept) + "\"";
+    }
+
+    // If-Match header -> expected document version; null means the update is unconditional
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return NEVER_MATCHES;
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int format = value.indexOf('-');
+        try {
+            return Long.parseLong(format > 0 ? value.substring(0, format) : value);
+        } catch (NumberFormatException e) {
+            return NEVER_MATCHES;
+        }
+    }
+
+    // the format the converters pick for this Accept header: the most specific, highest quality type that
+    // one of them writes, JSON for */* or no header as JSON is the first converter
+    private static String formatSuffix(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(types);
+        for (MediaType type : types) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "-cbor";
+            }
+            if (type.isCompatibleWith(SMILE)) {
+                return "-smile";
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,108 @@
+package edu.litviniuk.mongo.utils;
+
+/*
+  @author darin
+  @project mongo
+  @class GzipSegments
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+// one gzip stream built from parts compressed on their own: every part is raw deflate ending in a sync
+// flush (byte aligned, no final block, no back reference into another part), so the parts can be written
+// back to back between HEADER and FINISH + trailer. Changing one part only recompresses that part; the
+// CRC32 of the whole body is combined from the CRCs of the parts.
+public class GzipSegments {
+
+    public static final byte[] HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    // empty final block with fixed Huffman codes
+    public static final byte[] FINISH = {0x03, 0x00};
+
+    public static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 16);
+            byte[] buffer = new byte[8192];
+            int length;
+            do {
+                length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, length);
+            } while (length == buffer.length);
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static long crc32(byte[] input) {
+        CRC32 crc = new CRC32();
+        crc.update(input);
+        return crc.getValue();
+    }
+
+    // CRC32 and length of the uncompressed body, both little endian
+    public static byte[] trailer(long crc, long length) {
+        byte[] trailer = new byte[8];
+        for (int i = 0; i < 4; i++) {
+            trailer[i] = (byte) (crc >>> (8 * i));
+            trailer[i + 4] = (byte) (length >>> (8 * i));
+        }
+        return trailer;
+    }
+
+    // CRC32 of first + second from crc(first), crc(second) and second's length, zlib's crc32_combine
+    public static long crc32Combine(long first, long second, long secondLength) {
+        if (secondLength <= 0) {
+            return first;
+        }
+        long[] even = new long[32];
+        long[] odd = new long[32];
+        // operator for one zero bit
+        odd[0] = 0xedb88320L;
+        long row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        square(even, odd);
+        square(odd, even);
+        // apply zeros for each byte of the second part, squaring the operator per bit of the length
+        do {
+            square(even, odd);
+            if ((secondLength & 1) != 0) {
+                first = times(even, first);
+            }
+            secondLength >>= 1;
+            if (secondLength == 0) {
+                break;
+            }
+            square(odd, even);
+            if ((secondLength & 1) != 0) {
+                first = times(odd, first);
+            }
+            secondLength >>= 1;
+        } while (secondLength != 0);
+        return first ^ second;
+    }
+
+    private static long times(long[] matrix, long vector) {
+        long sum = 0;
+        for (int i = 0; vector != 0; i++, vector >>>= 1) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void square(long[] square, long[] matrix) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = times(matrix, matrix[n]);
+        }
+    }
+}
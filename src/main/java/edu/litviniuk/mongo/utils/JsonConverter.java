@@ -10,12 +10,31 @@ package edu.litviniuk.mongo.utils;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class JsonConverter {
+
+    // ObjectMapper and ObjectWriter are thread-safe once configured, so one instance is shared by all callers
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final ObjectWriter DEFAULT_WRITER = OBJECT_MAPPER.writer();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
     public static String toJson(Object object) throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        return objectMapper.writeValueAsString(object);
+        return writerFor(object).writeValueAsString(object);
+    }
+
+    public static byte[] toJsonBytes(Object object) throws JsonProcessingException {
+        return writerFor(object).writeValueAsBytes(object);
+    }
+
+    private static ObjectWriter writerFor(Object object) {
+        if (object == null) {
+            return DEFAULT_WRITER;
+        }
+        return WRITERS.computeIfAbsent(object.getClass(), OBJECT_MAPPER::writerFor);
     }
 }
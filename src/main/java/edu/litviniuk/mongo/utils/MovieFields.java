@@ -0,0 +1,92 @@
+package edu.litviniuk.mongo.utils;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieFields
+  @version 1.0.0
+  @since 18.10.2026 - 14.05
+*/
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class MovieFields {
+
+    public static final Set<String> ALL = Set.of("id", "title", "description", "genre", "createDate", "lastUpdateDate", "version");
+    public static final Set<String> SUMMARY = Set.of("id", "title", "genre");
+
+    public static final String SUMMARY_VIEW = "summary";
+    public static final String FULL_VIEW = "full";
+
+    // Jackson filter id of MovieModel, attached by JacksonConfiguration to Spring's mapper only
+    public static final String FILTER = "movieFields";
+    private static final FilterProvider SKIP_NULLS = new SimpleFilterProvider().addFilter(FILTER, new SkipNullsFilter());
+
+    // ?fields=title,genre or ?view=summary -> fields to read; null means the full document
+    public static Set<String> resolve(String fields, String view) {
+        boolean hasFields = fields != null && !fields.isBlank();
+        boolean hasView = view != null && !view.isBlank();
+        if (hasFields && hasView) {
+            throw new IllegalArgumentException("Use either fields or view");
+        }
+        if (hasView) {
+            return switch (view) {
+                case SUMMARY_VIEW -> SUMMARY;
+                case FULL_VIEW -> null;
+                default -> throw new IllegalArgumentException("Unknown view: " + view);
+            };
+        }
+        if (!hasFields) {
+            return null;
+        }
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String field : requested) {
+            if (!ALL.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+        requested.add("id");
+        return requested;
+    }
+
+    public static boolean isProjected(String fields, String view) {
+        return (fields != null && !fields.isBlank()) || SUMMARY_VIEW.equals(view);
+    }
+
+    // a projected document leaves out the fields it did not read instead of writing them as null,
+    // full documents keep Jackson's defaults
+    public static Object body(Object body, boolean projected) {
+        if (!projected) {
+            return body;
+        }
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(SKIP_NULLS);
+        return value;
+    }
+
+    private static class SkipNullsFilter extends SimpleBeanPropertyFilter {
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (writer instanceof BeanPropertyWriter property && property.get(pojo) == null) {
+                return;
+            }
+            writer.serializeAsField(pojo, generator, provider);
+        }
+    }
+}
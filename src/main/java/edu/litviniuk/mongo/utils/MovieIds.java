@@ -0,0 +1,19 @@
+package edu.litviniuk.mongo.utils;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieIds
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import org.bson.types.ObjectId;
+
+public class MovieIds {
+
+    // movie ids are ObjectIds in Mongo and 24-char hex strings in the API, anything else cannot match
+    public static boolean isValid(String id) {
+        return id != null && ObjectId.isValid(id);
+    }
+}
@@ -0,0 +1,46 @@
+package edu.litviniuk.mongo.utils;
+
+/*
+  @author darin
+  @project mongo
+  @class PageCursor
+  @version 1.0.0
+  @since 18.10.2026 - 10.15
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// opaque keyset position: sort key + values of the last returned document
+public record PageCursor(MovieSort sort, String lastId, LocalDateTime lastCreateDate) {
+
+    private static final String SEPARATOR = "|";
+
+    public static PageCursor after(MovieSort sort, MovieModel last) {
+        return new PageCursor(sort, last.getId(), sort == MovieSort.CREATE_DATE ? last.getCreateDate() : null);
+    }
+
+    public String encode() {
+        String raw = sort.getKey() + SEPARATOR + lastId + SEPARATOR
+                + (lastCreateDate == null ? "" : lastCreateDate.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3 || !MovieIds.isValid(parts[1])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime createDate = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            return new PageCursor(MovieSort.from(parts[0]), parts[1], createDate);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package edu.litviniuk.mongo.admission;
+
+/*
+  @author darin
+  @project mongo
+  @class AdmissionControlTest
+  @version 1.0.0
+  @since 18.10.2026 - 23.40
+*/
+
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// every Mongo sample is over the 1ns target, so each one that counts backs the limit off
+@SpringBootTest(properties = {"movies.admission.enabled=true", "movies.admission.rate=0.1", "movies.admission.burst=2",
+        "movies.admission.target-latency=1ns"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AdmissionControlTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Test
+    void whenClientExceedsBurst_thenReturn429ApiResponseOnlyForThatClient() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response").header("X-Client-Id", "noisy"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/movies/api-response").header("X-Client-Id", "noisy"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/movies/api-response").header("X-Client-Id", "noisy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.meta.code").value(429))
+                .andExpect(jsonPath("$.meta.success").value(false))
+                .andExpect(jsonPath("$.meta.errorMessage").value("Too many requests"));
+
+        mockMvc.perform(get("/api/v1/movies/api-response").header("X-Client-Id", "quiet"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenBackgroundBulkInsertIsSlow_thenLimitIsOnlyLoweredByRequests() throws Exception {
+        movieRepository.deleteAll();
+        // past the decrease cooldown left behind by earlier requests
+        Thread.sleep(150);
+        int before = concurrencyLimit.getLimit();
+
+        List<MovieModel> movies = IntStream.range(0, 1000)
+                .mapToObj(i -> new MovieModel("Background " + i, "Desc", "Drama"))
+                .toList();
+        Thread writer = new Thread(() -> movieRepository.insertUnordered(movies), "background-writer");
+        writer.start();
+        writer.join();
+        assertEquals(1000, movieRepository.count());
+        assertEquals(before, concurrencyLimit.getLimit());
+
+        Thread.sleep(150);
+        mockMvc.perform(get("/api/v1/movies/api-response").header("X-Client-Id", "latency"))
+                .andExpect(status().isOk());
+        assertTrue(concurrencyLimit.getLimit() < before);
+    }
+
+    @Test
+    void whenMongoSamplesAreSlow_thenLimitBacksOffOncePerCooldownAndRecovers() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, Duration.ofMillis(10), 0.5,
+                Duration.ofMillis(100));
+
+        long now = System.nanoTime();
+        limit.onSample(50 * MS, false, now);
+        limit.onSample(50 * MS, false, now + MS);
+        assertEquals(2, limit.getLimit());
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        // +1/limit per fast sample while the limit is in use: 2 -> 2.5 -> 2.9 -> 3.24
+        for (int i = 0; i < 3; i++) {
+            limit.onSample(MS, false, now + 200 * MS);
+        }
+        assertEquals(3, limit.getLimit());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void whenBucketRefills_thenClientIsAdmittedAgain() {
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 1, 100, Duration.ofMinutes(1));
+
+        assertEquals(0, limiter.tryAcquire("client", 0));
+        assertEquals(100 * MS, limiter.tryAcquire("client", 0));
+        assertEquals(0, limiter.tryAcquire("client", 100 * MS));
+    }
+}
@@ -7,20 +7,64 @@ package edu.litviniuk.mongo.service;
   @version 1.0.0
   @since 18.04.2026 - 20.12
 */
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import edu.litviniuk.mongo.cache.MovieCache;
+import edu.litviniuk.mongo.model.MovieHistoryModel;
 import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.GenreStatsRepository;
+import edu.litviniuk.mongo.repository.MovieHistoryRepository;
+import edu.litviniuk.mongo.repository.MovieQueries;
 import edu.litviniuk.mongo.repository.MovieRepository;
 import edu.litviniuk.mongo.request.CreateMovieRequest;
 import edu.litviniuk.mongo.request.UpdateMovieRequest;
+import edu.litviniuk.mongo.utils.MovieFields;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonType;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static edu.litviniuk.mongo.service.MovieFixtures.id;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -29,6 +73,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 public class MovieApiResponseTest {
 
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -38,12 +85,38 @@ public class MovieApiResponseTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MovieCache movieCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GenreStatsRepository genreStatsRepository;
+
+    @Autowired
+    private GenreStatsService genreStatsService;
+
+    @Autowired
+    private MovieHistoryRepository movieHistoryRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MovieExportService movieExportService;
+
     @BeforeEach
     void setup() {
         movieRepository.deleteAll();
+        movieHistoryRepository.deleteAll();
+        movieCache.invalidateAll();
         for (int i = 19; i <= 25; i++) {
-            movieRepository.save(new MovieModel(String.valueOf(i), "Movie " + i, "Desc", "Genre"));
+            movieRepository.save(new MovieModel(id(i), "Movie " + i, "Desc", "Genre"));
         }
+        // fixtures bypass MovieService, so the counters are recomputed from them
+        genreStatsRepository.deleteAll();
+        genreStatsService.rebuild();
     }
 
     @Test
@@ -57,15 +130,43 @@ public class MovieApiResponseTest {
 
     @Test
     void whenMovieExists_thenReturn200AndData() throws Exception {
-        mockMvc.perform(get("/api/v1/movies/api-response/19"))
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(19)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data[0].title").value("Movie 19"))
                 .andExpect(jsonPath("$.meta.success").value(true));
     }
 
+    @Test
+    void whenMovieReadTwice_thenSecondReadIsCacheHit() throws Exception {
+        MvcResult before = mockMvc.perform(get("/api/v1/movies/cache/stats")).andReturn();
+        int hitsBefore = JsonPath.read(before.getResponse().getContentAsString(), "$.data[0].hitCount");
+
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(21))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(21))).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/movies/cache/stats"))
+                .andExpect(jsonPath("$.data[0].enabled").value(true))
+                .andExpect(jsonPath("$.data[0].hitCount").value(hitsBefore + 1));
+    }
+
+    @Test
+    void whenMovieUpdatedAfterRead_thenNextReadReturnsNewTitle() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(22)))
+                .andExpect(jsonPath("$.data[0].title").value("Movie 22"));
+
+        UpdateMovieRequest request = new UpdateMovieRequest(id(22), "Renamed 22", "Desc", "Genre");
+        mockMvc.perform(put("/api/v1/movies/api-response")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(22)))
+                .andExpect(jsonPath("$.data[0].title").value("Renamed 22"));
+    }
+
     @Test
     void whenMovieNotExists_thenReturn404ApiResponse() throws Exception {
-        mockMvc.perform(get("/api/v1/movies/api-response/999"))
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(999)))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.meta.success").value(false))
                 .andExpect(jsonPath("$.meta.errorMessage").value("Movie not found"));
@@ -83,6 +184,44 @@ public class MovieApiResponseTest {
                 .andExpect(jsonPath("$.meta.code").value(201));
     }
 
+    @Test
+    void whenCreateWithCbor_thenReturnCborApiResponse() throws Exception {
+        CBORMapper cborMapper = new CBORMapper();
+        CreateMovieRequest request = new CreateMovieRequest("Binary Sci-Fi", "New Desc", "Sci-Fi");
+
+        MvcResult result = mockMvc.perform(post("/api/v1/movies/api-response")
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(CBOR))
+                .andReturn();
+
+        JsonNode body = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(201, body.at("/meta/code").asInt());
+        assertEquals("Binary Sci-Fi", body.at("/data/0/title").asText());
+        // same date format as the JSON output
+        assertTrue(body.at("/data/0/createDate").isTextual());
+    }
+
+    @Test
+    void whenListRequestedAsSmile_thenReturnSmileApiResponse() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/movies/api-response").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        JsonNode body = new SmileMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(200, body.at("/meta/code").asInt());
+        assertEquals(7, body.at("/data").size());
+    }
+
+    @Test
+    void whenNoAcceptHeader_thenReturnJson() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     void whenCreateDuplicateMovie_thenReturn400ApiResponse() throws Exception {
         CreateMovieRequest request = new CreateMovieRequest("Movie 19", "Desc", "Genre");
@@ -95,10 +234,98 @@ public class MovieApiResponseTest {
                 .andExpect(jsonPath("$.meta.errorMessage").value("Title already exists"));
     }
 
+    @Test
+    void whenAddMovieWithExistingTitle_thenReturn400() throws Exception {
+        MovieModel movie = new MovieModel("Movie 19", "Desc", "Genre");
+
+        mockMvc.perform(post("/api/v1/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movie)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Title already exists"));
+    }
+
+    @Test
+    void whenAddMovieWithoutTitle_thenReturn400() throws Exception {
+        mockMvc.perform(post("/api/v1/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"No title\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Title is required"));
+    }
+
+    @Test
+    void whenAddMovieWithExistingId_thenReturn409() throws Exception {
+        MovieModel movie = new MovieModel(id(19), "Another title", "Desc", "Genre");
+
+        mockMvc.perform(post("/api/v1/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movie)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Movie id already exists"));
+    }
+
+    @Test
+    void whenAddMovieWithStaleVersion_thenReturn412() throws Exception {
+        MovieModel movie = new MovieModel(id(19), "Movie 19", "Desc", "Genre");
+        movie.setVersion(7L);
+
+        mockMvc.perform(post("/api/v1/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movie)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string("Movie was modified"));
+    }
+
+    @Test
+    void whenCreateBatch_thenReturnPerItemStatus() throws Exception {
+        List<CreateMovieRequest> requests = List.of(
+                new CreateMovieRequest("Batch 1", "Desc", "Drama"),
+                new CreateMovieRequest("Movie 19", "Desc", "Genre"),
+                new CreateMovieRequest("Batch 1", "Desc", "Drama"),
+                new CreateMovieRequest("Batch 2", "Desc", "Drama"));
+
+        mockMvc.perform(post("/api/v1/movies/api-response/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.meta.code").value(201))
+                .andExpect(jsonPath("$.data.length()").value(4))
+                .andExpect(jsonPath("$.data[0].code").value(201))
+                .andExpect(jsonPath("$.data[0].id").value(notNullValue()))
+                .andExpect(jsonPath("$.data[1].errorMessage").value("Title already exists"))
+                .andExpect(jsonPath("$.data[2].errorMessage").value("Duplicate title in batch"))
+                .andExpect(jsonPath("$.data[3].code").value(201));
+
+        assertEquals(9, movieRepository.count());
+    }
+
+    @Test
+    void whenBatchHasNullItem_thenOnlyThatItemIsRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/movies/api-response/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"Batch A\"}, null]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data[0].code").value(201))
+                .andExpect(jsonPath("$.data[1].code").value(400))
+                .andExpect(jsonPath("$.data[1].errorMessage").value("Title is required"));
+
+        assertEquals(8, movieRepository.count());
+    }
+
+    @Test
+    void whenCreateEmptyBatch_thenReturn400ApiResponse() throws Exception {
+        mockMvc.perform(post("/api/v1/movies/api-response/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.success").value(false));
+    }
+
 
     @Test
     void whenUpdateValidMovie_thenReturn200ApiResponse() throws Exception {
-        UpdateMovieRequest request = new UpdateMovieRequest("19", "Updated Movie 19", "Desc", "Genre");
+        UpdateMovieRequest request = new UpdateMovieRequest(id(19), "Updated Movie 19", "Desc", "Genre");
 
         mockMvc.perform(put("/api/v1/movies/api-response")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -107,9 +334,155 @@ public class MovieApiResponseTest {
                 .andExpect(jsonPath("$.data[0].title").value("Updated Movie 19"));
     }
 
+    @Test
+    void whenUpdatedRepeatedly_thenHistoryRecordedAndCreateDateKept() throws Exception {
+        MovieModel movie = movieRepository.findById(id(19)).orElseThrow();
+        movie.setCreateDate(LocalDateTime.of(2025, 1, 1, 12, 0));
+        movieRepository.save(movie);
+
+        for (int i = 1; i <= 3; i++) {
+            UpdateMovieRequest request = new UpdateMovieRequest(id(19), "Movie 19 v" + i, "Desc", "Genre");
+            mockMvc.perform(put("/api/v1/movies/api-response")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].title").value("Movie 19 v" + i));
+        }
+
+        MovieModel updated = movieRepository.findById(id(19)).orElseThrow();
+        assertNotNull(updated.getLastUpdateDate());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0), updated.getCreateDate());
+
+        // entries are written asynchronously by the history writer
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (movieHistoryRepository.count() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(19) + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].action").value("UPDATE"))
+                .andExpect(jsonPath("$.data[0].changes.title.from").value("Movie 19"))
+                .andExpect(jsonPath("$.data[0].changes.title.to").value("Movie 19 v1"))
+                .andExpect(jsonPath("$.data[0].changes.genre").doesNotExist())
+                .andExpect(jsonPath("$.data[2].changes.title.to").value("Movie 19 v3"))
+                .andExpect(jsonPath("$.data[0].auditor").value(System.getProperty("user.name")));
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(19) + "/history").param("to", "2025-01-01T00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    @Test
+    void whenLegacyStringIdsMigrated_thenMoviesAndHistoryUseObjectIds() throws Exception {
+        MongoCollection<Document> movies = mongoTemplate.getCollection(mongoTemplate.getCollectionName(MovieModel.class));
+        movies.insertOne(new Document("_id", "legacy-7").append("title", "Legacy 7").append("genre", "Genre")
+                .append("createDate", new Date()).append("version", 0L));
+        movies.insertOne(new Document("_id", id(8)).append("title", "Legacy 8").append("genre", "Genre")
+                .append("version", 0L));
+        movieHistoryRepository.insert(MovieHistoryModel.builder()
+                .timestamp(LocalDateTime.now()).movieId("legacy-7").action(MovieHistoryModel.Action.UPDATE).build());
+
+        assertEquals(2, movieRepository.migrateStringIds());
+        assertEquals(0, movies.countDocuments(Filters.type("_id", BsonType.STRING)));
+        assertEquals(0, movieRepository.migrateStringIds());
+
+        String movedId = mongoTemplate.findOne(new Query(Criteria.where("title").is("Legacy 7")), MovieModel.class).getId();
+        mockMvc.perform(get("/api/v1/movies/api-response/" + movedId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].title").value("Legacy 7"));
+        // hex string ids keep their value
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].title").value("Legacy 8"));
+        assertEquals(1, mongoTemplate.count(new Query(Criteria.where("movieId").is(movedId)), MovieHistoryModel.class));
+    }
+
+    @Test
+    void whenIdIsNotAnObjectId_thenReturn404ApiResponse() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response/not-an-id"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.meta.errorMessage").value("Movie not found"));
+        mockMvc.perform(get("/api/v1/movies/not-an-id"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/movies/api-response/19"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void whenHistoryRangeInvalid_thenReturn400ApiResponse() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(19) + "/history").param("from", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.errorMessage").value("Invalid date: yesterday"));
+    }
+
+    @Test
+    void whenIfNoneMatchIsCurrent_thenReturn304WithoutBody() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/movies/api-response/" + id(23)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(23)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void whenFormatsDiffer_thenEachHasItsOwnTagAndResponsesVaryByAccept() throws Exception {
+        String json = mockMvc.perform(get("/api/v1/movies/" + id(23)))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cbor = mockMvc.perform(get("/api/v1/movies/" + id(23)).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("\"0\"", json);
+        assertEquals("\"0-cbor\"", cbor);
+
+        // the JSON tag does not validate a CBOR copy, the 304 still names Accept in Vary
+        mockMvc.perform(get("/api/v1/movies/" + id(23)).accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/movies/" + id(23)).accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, cbor))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+
+        // either tag names the same version for If-Match
+        mockMvc.perform(put("/api/v1/movies/" + id(23))
+                        .header(HttpHeaders.IF_MATCH, cbor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MovieModel("Movie 23 v2", "Desc", "Genre"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void whenIfMatchIsStale_thenReturn412ApiResponse() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/movies/api-response/" + id(24)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        UpdateMovieRequest first = new UpdateMovieRequest(id(24), "First writer", "Desc", "Genre");
+        String newEtag = mockMvc.perform(put("/api/v1/movies/api-response")
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+
+        UpdateMovieRequest second = new UpdateMovieRequest(id(24), "Second writer", "Desc", "Genre");
+        mockMvc.perform(put("/api/v1/movies/api-response")
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.meta.code").value(412))
+                .andExpect(jsonPath("$.meta.errorMessage").value("Movie was modified"));
+    }
+
     @Test
     void whenUpdateNonExistentMovie_thenReturn404ApiResponse() throws Exception {
-        UpdateMovieRequest request = new UpdateMovieRequest("999", "No Title", "Desc", "Genre");
+        UpdateMovieRequest request = new UpdateMovieRequest(id(999), "No Title", "Desc", "Genre");
 
         mockMvc.perform(put("/api/v1/movies/api-response")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -121,7 +494,7 @@ public class MovieApiResponseTest {
     @Test
     void whenUpdateToExistingTitle_thenReturn400ApiResponse() throws Exception {
         // Пробуємо змінити Movie 20 на назву Movie 21 (яка вже є в базі)
-        UpdateMovieRequest request = new UpdateMovieRequest("20", "Movie 21", "Desc", "Genre");
+        UpdateMovieRequest request = new UpdateMovieRequest(id(20), "Movie 21", "Desc", "Genre");
 
         mockMvc.perform(put("/api/v1/movies/api-response")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -132,14 +505,14 @@ public class MovieApiResponseTest {
 
     @Test
     void whenDeleteExists_thenReturn200ApiResponse() throws Exception {
-        mockMvc.perform(delete("/api/v1/movies/api-response/25"))
+        mockMvc.perform(delete("/api/v1/movies/api-response/" + id(25)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.meta.success").value(true));
     }
 
     @Test
     void whenDeleteNonExistent_thenReturn404ApiResponse() throws Exception {
-        mockMvc.perform(delete("/api/v1/movies/api-response/100"))
+        mockMvc.perform(delete("/api/v1/movies/api-response/" + id(100)))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.meta.success").value(false));
     }
@@ -154,8 +527,283 @@ public class MovieApiResponseTest {
 
     @Test
     void whenGetById_DataListShouldContainExactlyOneElement() throws Exception {
-        mockMvc.perform(get("/api/v1/movies/api-response/20"))
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(20)))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(id(20)));
+    }
+
+    @Test
+    void whenGetMoviesWithLimit_thenPagesFollowNextCursor() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/movies/api-response").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].id").value(id(19)))
+                .andReturn();
+        String cursor = JsonPath.read(first.getResponse().getContentAsString(), "$.meta.nextCursor");
+
+        MvcResult second = mockMvc.perform(get("/api/v1/movies/api-response").param("limit", "3").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(id(22)))
+                .andReturn();
+        cursor = JsonPath.read(second.getResponse().getContentAsString(), "$.meta.nextCursor");
+
+        mockMvc.perform(get("/api/v1/movies/api-response").param("limit", "3").param("cursor", cursor))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.length()").value(1))
-                .andExpect(jsonPath("$.data[0].id").value("20"));
+                .andExpect(jsonPath("$.data[0].id").value(id(25)))
+                .andExpect(jsonPath("$.meta.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void whenCursorOrSortIsInvalidForPlainList_thenReturn400WithMessage() throws Exception {
+        mockMvc.perform(get("/api/v1/movies").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid cursor"));
+        mockMvc.perform(get("/api/v1/movies").param("sort", "nope"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unknown sort: nope"));
+    }
+
+    @Test
+    void whenCursorIsInvalid_thenReturn400ApiResponse() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.success").value(false))
+                .andExpect(jsonPath("$.meta.errorMessage").value("Invalid cursor"));
+    }
+
+    @Test
+    void whenSummaryViewRequested_thenOnlySummaryFieldsReturned() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response").param("view", "summary").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(id(19)))
+                .andExpect(jsonPath("$.data[0].title").value("Movie 19"))
+                .andExpect(jsonPath("$.data[0].genre").value("Genre"))
+                .andExpect(jsonPath("$.data[0].description").doesNotExist())
+                .andExpect(jsonPath("$.data[0].version").doesNotExist());
+    }
+
+    @Test
+    void whenFieldsRequestedForLookup_thenOnlyThoseFieldsReturned() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(20)).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(id(20)))
+                .andExpect(jsonPath("$.data[0].title").value("Movie 20"))
+                .andExpect(jsonPath("$.data[0].genre").doesNotExist());
+    }
+
+    @Test
+    void whenFullDocumentRequested_thenNullFieldsAreStillWritten() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(20)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].description").hasJsonPath())
+                .andExpect(jsonPath("$.data[0].createDate").hasJsonPath())
+                .andExpect(jsonPath("$.data[0].lastUpdateDate").hasJsonPath())
+                .andExpect(jsonPath("$.data[0].score").doesNotHaveJsonPath());
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(20)).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].description").doesNotHaveJsonPath())
+                .andExpect(jsonPath("$.data[0].lastUpdateDate").doesNotHaveJsonPath())
+                .andExpect(jsonPath("$.data[0].version").doesNotHaveJsonPath());
+    }
+
+    @Test
+    void whenUnknownFieldRequested_thenReturn400ApiResponse() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response").param("fields", "title,budget"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.errorMessage").value("Unknown field: budget"));
+    }
+
+    @Test
+    void whenExportMovies_thenStreamOneJsonDocumentPerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/movies/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(3_600_000, started.getRequest().getAsyncContext().getTimeout());
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(7, body.lines().count());
+        for (String line : body.lines().toList()) {
+            assertTrue(objectMapper.readTree(line).get("title").asText().startsWith("Movie "));
+        }
+    }
+
+    @Test
+    void whenExportMovies_thenFirstDocumentIsFlushedOnItsOwn() throws Exception {
+        List<String> flushed = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushed.add(toString(StandardCharsets.UTF_8));
+            }
+        };
+
+        movieExportService.exportMovies(out);
+
+        assertEquals("", flushed.get(0));
+        assertEquals(1, flushed.get(1).lines().count());
+        assertEquals(7, flushed.get(flushed.size() - 1).lines().count());
+    }
+
+    @Test
+    void whenMovieNotFound_thenControllerTimerTaggedWithMetaCode() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response/" + id(999)))
+                .andExpect(status().isNotFound());
+
+        Timer timer = meterRegistry.find("movies.controller")
+                .tag("method", "getMovieByIdApi")
+                .tag("code", "404")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    void whenSearchTextBlank_thenReturn400ApiResponse() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.errorMessage").value("Search text is required"));
+    }
+
+    @Test
+    void whenSearchPageTooDeep_thenReturn400ApiResponse() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/api-response/search").param("q", "movie")
+                        .param("page", "1000").param("limit", "500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.errorMessage").value("Page is too deep, refine the search"));
+    }
+
+    @Test
+    void whenSearchQueryBuilt_thenRankedByScoreWithGenreFilter() {
+        Query query = MovieQueries.search("space", "Sci-Fi", 20, 11, Set.of("id", "title"));
+
+        assertEquals("space", query.getQueryObject().get("$text", Document.class).get("$search"));
+        assertEquals("Sci-Fi", query.getQueryObject().get("genre"));
+        assertEquals(List.of("score", "id"), List.copyOf(query.getSortObject().keySet()));
+        assertTrue(query.getFieldsObject().containsKey("score"));
+        assertEquals(20, query.getSkip());
+        assertEquals(11, query.getLimit());
+    }
+
+    // what MongoTemplate sends for a search, runs on every server unlike the $text test below
+    @Test
+    void whenSearchQueryMapped_thenMongoGetsTextFilterScoreSortAndScoreProjection() {
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(MovieModel.class);
+        Document textScore = new Document("$meta", "textScore");
+
+        Query projected = MovieQueries.search("space", "Sci-Fi", 0, 10, MovieFields.SUMMARY);
+        assertEquals(new Document("$text", new Document("$search", "space")).append("genre", "Sci-Fi"),
+                mapper.getMappedObject(projected.getQueryObject(), entity));
+        assertEquals(new Document("score", textScore).append("_id", 1),
+                mapper.getMappedSort(projected.getSortObject(), entity));
+        Document fields = mapper.getMappedFields(projected.getFieldsObject(), entity);
+        assertEquals(textScore, fields.get("score"));
+        assertEquals(Set.of("_id", "title", "genre", "score"), fields.keySet());
+
+        // the full document still asks for the score and filters on the text only
+        Query full = MovieQueries.search("space", null, 0, 10, null);
+        assertEquals(new Document("$text", new Document("$search", "space")),
+                mapper.getMappedObject(full.getQueryObject(), entity));
+        assertEquals(new Document("score", textScore), mapper.getMappedFields(full.getFieldsObject(), entity));
+    }
+
+    @Test
+    void whenSearchResultHasScore_thenScoreIsWritten() throws Exception {
+        MovieModel movie = new MovieModel(id(101), "Space", "Desc", "Sci-Fi");
+        movie.setScore(1.5f);
+
+        assertEquals(1.5, objectMapper.readTree(objectMapper.writeValueAsString(movie)).get("score").asDouble());
+    }
+
+    // needs a MongoDB with text indexes, skipped on servers without $text support
+    @Test
+    void whenSearching_thenRankedPagesWithGenreFilterAndNextCursor() throws Exception {
+        assumeTrue(textSearchSupported(), "The test Mongo has no $text support");
+        // one matching token out of three, two and four title tokens, so the text scores come out in that order
+        MovieModel best = movieRepository.save(new MovieModel(id(101), "Space Space Space", "Desc", "Sci-Fi"));
+        MovieModel second = movieRepository.save(new MovieModel(id(102), "Lost in Space", "Desc", "Drama"));
+        MovieModel third = movieRepository.save(new MovieModel(id(103), "Space Station Crew Log", "Desc", "Sci-Fi"));
+
+        mockMvc.perform(get("/api/v1/movies/api-response/search").param("q", "space").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(best.getId()))
+                .andExpect(jsonPath("$.data[1].id").value(second.getId()))
+                .andExpect(jsonPath("$.meta.nextCursor").value("1"));
+        mockMvc.perform(get("/api/v1/movies/api-response/search").param("q", "space").param("limit", "2")
+                        .param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(third.getId()))
+                .andExpect(jsonPath("$.meta.nextCursor").doesNotExist());
+        mockMvc.perform(get("/api/v1/movies/api-response/search").param("q", "space").param("genre", "Sci-Fi"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(best.getId()))
+                .andExpect(jsonPath("$.data[1].id").value(third.getId()))
+                .andExpect(jsonPath("$.meta.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void whenMoviesCreatedUpdatedAndDeleted_thenGenreCountersFollow() throws Exception {
+        mockMvc.perform(post("/api/v1/movies/api-response")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateMovieRequest("Stats Movie", "Desc", "Drama"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(put("/api/v1/movies/api-response")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateMovieRequest(id(19), "Movie 19", "Desc", "Drama"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/movies/api-response/" + id(20)))
+                .andExpect(status().isOk());
+
+        assertEquals(5, genreStatsRepository.findById("Genre").orElseThrow().getMovieCount());
+        assertEquals(2, genreStatsRepository.findById("Drama").orElseThrow().getMovieCount());
+        assertEquals(1, genreStatsRepository.findById("Drama").orElseThrow().getUpdateCount());
+
+        mockMvc.perform(get("/api/v1/movies/stats/genres"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].genre").value("Drama"));
+    }
+
+    @Test
+    void whenCountersDrifted_thenRebuildCorrectsThem() throws Exception {
+        movieRepository.save(new MovieModel(id(26), "Movie 26", "Desc", "Genre"));
+
+        mockMvc.perform(post("/api/v1/movies/stats/genres/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].movieCount").value(8));
+        assertEquals(8, genreStatsRepository.findById("Genre").orElseThrow().getMovieCount());
+    }
+
+    @Test
+    void whenMovieIsCreatedDuringRebuild_thenItsIncrementIsKept() {
+        Map<String, Long> counts = genreStatsRepository.countMoviesByGenre();
+        Map<String, Long> previous = Map.of("Genre", 7L);
+
+        // a movieCreated lands after the counters were read, before the correction is written
+        genreStatsRepository.incrementMovieCounts(Map.of("Genre", 1L, "Drama", 1L));
+        genreStatsRepository.correctMovieCounts(counts, previous);
+
+        assertEquals(8, genreStatsRepository.findById("Genre").orElseThrow().getMovieCount());
+        assertEquals(1, genreStatsRepository.findById("Drama").orElseThrow().getMovieCount());
+    }
+
+    private boolean textSearchSupported() {
+        try {
+            mongoTemplate.find(TextQuery.queryText(TextCriteria.forDefaultLanguage().matching("probe")).limit(1),
+                    MovieModel.class);
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
     }
 }
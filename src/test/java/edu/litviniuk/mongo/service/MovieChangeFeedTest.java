@@ -0,0 +1,96 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieChangeFeedTest
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.response.MovieChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// the test server has no change streams, events are published into the feed directly
+@SpringBootTest(properties = {"movies.changes.enabled=true", "movies.changes.retry-delay=1h"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class MovieChangeFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieChangeFeed movieChangeFeed;
+
+    @Test
+    void whenSubscribedWithGenre_thenOnlyMatchingChangesMovesOutAndDeletesArrive() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/movies/changes").param("genre", "Drama"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        movieChangeFeed.publish("genre-1", event(MovieChangeEvent.Operation.CREATE, "1", "Drama"));
+        movieChangeFeed.publish("genre-2", event(MovieChangeEvent.Operation.UPDATE, "2", "Comedy", "Comedy"));
+        movieChangeFeed.publish("genre-3", event(MovieChangeEvent.Operation.DELETE, "3", null));
+        // moved from Drama to Comedy, a Drama client has to learn it is gone from its list
+        movieChangeFeed.publish("genre-4", event(MovieChangeEvent.Operation.UPDATE, "1", "Comedy", "Drama"));
+
+        String body = awaitContent(result, "id:genre-4");
+        assertTrue(body.contains("id:genre-1\nevent:create\ndata:{\"operation\":\"CREATE\",\"id\":\"1\",\"genre\":\"Drama\"}"));
+        assertTrue(body.contains("event:delete"));
+        assertFalse(body.contains("genre-2"));
+    }
+
+    @Test
+    void whenReconnectingWithLastEventId_thenMissedChangesAreReplayed() throws Exception {
+        movieChangeFeed.publish("replay-1", event(MovieChangeEvent.Operation.CREATE, "11", "Drama"));
+        movieChangeFeed.publish("replay-2", event(MovieChangeEvent.Operation.UPDATE, "11", "Drama"));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/movies/changes").header("Last-Event-ID", "replay-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(result, "id:replay-2");
+        assertFalse(body.contains("id:replay-1"));
+    }
+
+    @Test
+    void whenLastEventIdIsUnknown_thenClientIsToldToReload() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/movies/changes").header("Last-Event-ID", "long-gone"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        awaitContent(result, "event:reset");
+    }
+
+    private static MovieChangeEvent event(MovieChangeEvent.Operation operation, String id, String genre) {
+        return event(operation, id, genre, null);
+    }
+
+    private static MovieChangeEvent event(MovieChangeEvent.Operation operation, String id, String genre,
+                                          String previousGenre) {
+        return MovieChangeEvent.builder().operation(operation).id(id).genre(genre).previousGenre(previousGenre).build();
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected), body);
+        return body;
+    }
+}
@@ -0,0 +1,132 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieFileImportTest
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.model.MovieImportModel;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieImportRepository;
+import edu.litviniuk.mongo.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// small chunks and batches, so even these files are split across several workers
+@SpringBootTest(properties = {"movies.file-import.parallelism=4", "movies.file-import.batch-size=2",
+        "movies.file-import.chunk-size=64"})
+@ActiveProfiles("test")
+public class MovieFileImportTest {
+
+    @TempDir
+    private Path directory;
+
+    @Autowired
+    private MovieFileImporter movieFileImporter;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieImportRepository movieImportRepository;
+
+    @BeforeEach
+    void setup() {
+        movieRepository.deleteAll();
+        movieImportRepository.deleteAll();
+    }
+
+    @Test
+    void whenNdjsonImported_thenValidLinesCreatedAndOthersCounted() throws Exception {
+        Path file = write("movies.ndjson", """
+                {"title":"Import 1","description":"Desc","genre":"Drama"}
+                {"title":"Import 2","description":"Desc","genre":"Drama"}
+
+                {"title":"Import 3","description":"Desc","genre":"Comedy"}
+                {"title":"Import 1","description":"Again","genre":"Drama"}
+                {"title":"Broken"
+                {"title":"Import 4","description":"Desc","genre":"Comedy"}
+                {"title":"Import 5","description":"Desc","genre":"Horror"}""");
+
+        MovieImportModel job = movieFileImporter.importFile(file);
+
+        assertEquals(MovieImportModel.Status.COMPLETED, job.getStatus());
+        assertEquals(Files.size(file), job.getOffset());
+        assertEquals(5, job.getCreated());
+        assertEquals(1, job.getRejected());
+        assertEquals(1, job.getInvalid());
+        assertEquals(5, movieRepository.count());
+
+        // the same file again is recognised as done
+        MovieImportModel again = movieFileImporter.importFile(file);
+        assertEquals(5, again.getCreated());
+        assertEquals(5, movieRepository.count());
+    }
+
+    @Test
+    void whenCsvImported_thenColumnsFollowHeaderAndQuotesAreUnescaped() throws Exception {
+        Path file = write("movies.csv", "\uFEFFgenre,title,description\r\n"
+                + "Drama,Plain,Desc\r\n"
+                + "Comedy,\"Comma, inside\",\"Say \"\"hi\"\"\"\r\n"
+                + "Horror,No description,\r\n"
+                + "Drama,Too,many,columns\r\n");
+
+        MovieImportModel job = movieFileImporter.importFile(file);
+
+        assertEquals(3, job.getCreated());
+        assertEquals(1, job.getInvalid());
+        Map<String, MovieModel> movies = movieRepository.findAll().stream()
+                .collect(Collectors.toMap(MovieModel::getTitle, movie -> movie));
+        assertEquals("Drama", movies.get("Plain").getGenre());
+        assertEquals("Say \"hi\"", movies.get("Comma, inside").getDescription());
+        assertEquals("Comedy", movies.get("Comma, inside").getGenre());
+        assertNull(movies.get("No description").getDescription());
+    }
+
+    @Test
+    void whenCheckpointExists_thenImportResumesAfterIt() throws Exception {
+        String done = """
+                {"title":"Resume 1","genre":"Drama"}
+                {"title":"Resume 2","genre":"Drama"}
+                """;
+        Path file = write("resume.ndjson", done + """
+                {"title":"Resume 3","genre":"Drama"}
+                {"title":"Resume 4","genre":"Drama"}
+                """);
+        movieImportRepository.save(MovieImportModel.builder()
+                .file(file.toAbsolutePath().normalize().toString())
+                .size(Files.size(file))
+                .lastModified(Files.getLastModifiedTime(file).toMillis())
+                .offset(done.getBytes(StandardCharsets.UTF_8).length)
+                .created(2)
+                .status(MovieImportModel.Status.FAILED)
+                .build());
+
+        MovieImportModel job = movieFileImporter.importFile(file);
+
+        assertEquals(MovieImportModel.Status.COMPLETED, job.getStatus());
+        assertEquals(4, job.getCreated());
+        assertEquals(2, movieRepository.count());
+        assertEquals(0, movieRepository.findAll().stream().filter(movie -> movie.getTitle().equals("Resume 1")).count());
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(directory.resolve(name), content);
+    }
+}
@@ -0,0 +1,20 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieFixtures
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+public final class MovieFixtures {
+
+    private MovieFixtures() {
+    }
+
+    // fixture ids as ObjectId hex, id(19) is 000000000000000000000013
+    public static String id(int n) {
+        return "%024x".formatted(n);
+    }
+}
@@ -0,0 +1,46 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieHistoryServiceTest
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import edu.litviniuk.mongo.config.MovieProperties;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieHistoryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static edu.litviniuk.mongo.service.MovieFixtures.id;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MovieHistoryServiceTest {
+
+    // the writer is never started, so one entry fills the queue and every later one is inserted inline
+    @Test
+    void whenInlineInsertFails_thenFailureIsCountedAndNotThrown() {
+        MovieHistoryRepository repository = (MovieHistoryRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{MovieHistoryRepository.class}, (proxy, method, args) -> {
+                    throw new IllegalStateException("Mongo is down");
+                });
+        MovieProperties properties = new MovieProperties();
+        properties.getHistory().setCapacity(1);
+        MovieHistoryService service = new MovieHistoryService(repository, null, Optional::empty, properties);
+        MovieModel movie = new MovieModel(id(1), "Movie 1", "Desc", "Genre");
+        LocalDateTime now = LocalDateTime.now();
+
+        service.movieCreated(movie, now);
+        assertDoesNotThrow(() -> service.movieDeleted(id(1), now));
+        assertDoesNotThrow(() -> service.moviesCreated(List.of(movie, movie), now));
+
+        assertEquals(2, service.getInlineFailures());
+    }
+}
@@ -0,0 +1,106 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieIngestTest
+  @version 1.0.0
+  @since 18.10.2026 - 20.30
+*/
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.litviniuk.mongo.repository.MovieRepository;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"movies.ingest.enabled=true", "movies.ingest.capacity=3", "movies.ingest.flush-interval=50ms"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class MovieIngestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    void whenMoviesIngested_thenAcceptedAndInsertedByFlusher() throws Exception {
+        List<CreateMovieRequest> requests = List.of(
+                new CreateMovieRequest("Ingest 1", "Desc", "Drama"),
+                new CreateMovieRequest("Ingest 2", "Desc", "Drama"));
+
+        mockMvc.perform(post("/api/v1/movies/api-response/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.meta.code").value(202));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((movieRepository.count() < 2 || meterRegistry.get("movies.ingest.flush").timer().count() < 1)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(2, movieRepository.count());
+        assertTrue(meterRegistry.get("movies.ingest.flush").timer().count() >= 1);
+    }
+
+    @Test
+    void whenRequestExceedsQueueCapacity_thenReturn429ApiResponse() throws Exception {
+        List<CreateMovieRequest> requests = List.of(
+                new CreateMovieRequest("Too many 1", "Desc", "Drama"),
+                new CreateMovieRequest("Too many 2", "Desc", "Drama"),
+                new CreateMovieRequest("Too many 3", "Desc", "Drama"),
+                new CreateMovieRequest("Too many 4", "Desc", "Drama"));
+
+        mockMvc.perform(post("/api/v1/movies/api-response/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.meta.errorMessage").value("Ingest queue is full"));
+        assertEquals(0, movieRepository.count());
+    }
+
+    @Test
+    void whenBatchHasNullOrUntitledItem_thenReturn400AndQueueNothing() throws Exception {
+        mockMvc.perform(post("/api/v1/movies/api-response/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"Valid\"}, null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.errorMessage").value("Title is required at index 1"));
+        mockMvc.perform(post("/api/v1/movies/api-response/ingest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\" \"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.meta.errorMessage").value("Title is required at index 0"));
+        assertEquals(0, meterRegistry.get("movies.ingest.queue.depth").gauge().value());
+        assertEquals(0, movieRepository.count());
+    }
+}
@@ -0,0 +1,181 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class MovieSnapshotTest
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.litviniuk.mongo.cache.MovieCatalogSnapshot;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.MovieRepository;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.request.UpdateMovieRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static edu.litviniuk.mongo.service.MovieFixtures.id;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// two movies per segment, so a handful of writes already adds, splits and drops segments
+@SpringBootTest(properties = {"movies.snapshot.enabled=true", "movies.snapshot.rebuild-interval=20ms",
+        "movies.snapshot.segment-size=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class MovieSnapshotTest {
+
+    private static final String SNAPSHOT_URL = "/api/v1/movies/api-response/snapshot";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieCatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        // deleteAll goes past MovieService, so the snapshot has to be reloaded by hand
+        movieRepository.deleteAll();
+        catalogSnapshot.reload();
+    }
+
+    @Test
+    void whenMoviesWritten_thenSnapshotFollowsAndAnswers304ForSameTag() throws Exception {
+        MovieModel kept = movieService.create(new CreateMovieRequest("Snapshot 1", "Desc", "Drama"));
+        MovieModel deleted = movieService.create(new CreateMovieRequest("Snapshot 2", "Desc", "Comedy"));
+        awaitSize(2);
+        movieService.deleteMovie(deleted.getId());
+        awaitSize(1);
+
+        MvcResult result = mockMvc.perform(get(SNAPSHOT_URL))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(200, body.at("/meta/code").asInt());
+        assertEquals(kept.getId(), body.at("/data/0/id").asText());
+        assertEquals("Snapshot 1", body.at("/data/0/title").asText());
+
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        // 8 hex digits of CRC32 and 16 of the length
+        assertTrue(etag.matches("\"[0-9a-f]{24}\""), etag);
+        mockMvc.perform(get(SNAPSHOT_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void whenClientAcceptsGzip_thenPrecompressedBytesAreSent() throws Exception {
+        movieService.create(new CreateMovieRequest("Compressed", "Desc", "Drama"));
+        awaitSize(1);
+
+        MvcResult result = mockMvc.perform(get(SNAPSHOT_URL).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        byte[] plain = mockMvc.perform(get(SNAPSHOT_URL)).andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(plain, gunzip(result.getResponse().getContentAsByteArray()));
+        assertEquals(result.getResponse().getContentAsByteArray().length, result.getResponse().getContentLengthLong());
+    }
+
+    @Test
+    void whenWritesSpanSeveralSegments_thenBodyListsEveryMovieInIdOrder() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            ids.add(movieService.create(new CreateMovieRequest("Segmented " + i, "Desc", "Drama")).getId());
+        }
+        awaitSize(9);
+        // changes are applied in order, once both deletes are in the update is as well
+        movieService.update(new UpdateMovieRequest(ids.get(3), "Segmented renamed", "Desc", "Drama"));
+        movieService.deleteMovie(ids.remove(0));
+        movieService.deleteMovie(ids.remove(3));
+        awaitSize(7);
+
+        MvcResult plain = mockMvc.perform(get(SNAPSHOT_URL)).andExpect(status().isOk()).andReturn();
+        JsonNode body = objectMapper.readTree(plain.getResponse().getContentAsByteArray());
+        List<String> listed = new ArrayList<>();
+        body.at("/data").forEach(movie -> listed.add(movie.at("/id").asText()));
+        assertEquals(ids.stream().sorted().toList(), listed);
+        assertEquals("Segmented renamed", body.at("/data/2/title").asText());
+
+        MvcResult compressed = mockMvc.perform(get(SNAPSHOT_URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        assertArrayEquals(plain.getResponse().getContentAsByteArray(),
+                gunzip(compressed.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    void whenIdsArriveDescendingAndOutOfOrder_thenNoMovieIsLostAndBodyStaysInIdOrder() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int n : new int[]{9, 8, 7, 6, 5, 12, 2, 10, 1, 11, 3, 4}) {
+            MovieModel movie = new MovieModel(id(n), "Client id " + n, "Desc", "Drama");
+            ids.add(movieService.addMovie(movie).getId());
+        }
+        awaitSize(12);
+        assertEquals(ids.stream().sorted().toList(), listedIds());
+
+        // lookups still find the segment holding each id
+        movieService.update(new UpdateMovieRequest(id(1), "Client id 1 renamed", "Desc", "Drama"));
+        movieService.deleteMovie(id(9));
+        movieService.deleteMovie(id(2));
+        ids.remove(id(9));
+        ids.remove(id(2));
+        awaitSize(10);
+        assertEquals(ids.stream().sorted().toList(), listedIds());
+        JsonNode body = objectMapper.readTree(mockMvc.perform(get(SNAPSHOT_URL)).andReturn()
+                .getResponse().getContentAsByteArray());
+        assertEquals("Client id 1 renamed", body.at("/data/0/title").asText());
+    }
+
+    private List<String> listedIds() throws Exception {
+        MvcResult result = mockMvc.perform(get(SNAPSHOT_URL)).andExpect(status().isOk()).andReturn();
+        List<String> listed = new ArrayList<>();
+        objectMapper.readTree(result.getResponse().getContentAsByteArray())
+                .at("/data").forEach(movie -> listed.add(movie.at("/id").asText()));
+        return listed;
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws Exception {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+    private void awaitSize(int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (catalogSnapshot.current().size() != size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, catalogSnapshot.current().size());
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.util.ArrayList;
 import java.util.List;
 
+import static edu.litviniuk.mongo.service.MovieFixtures.id;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
@@ -24,7 +25,7 @@ public class MovieTest {
     void cleanAndSetup() {
         mongoTemplate.remove(new org.springframework.data.mongodb.core.query.Query(), MovieModel.class);
         for (int i = 1; i <= 30; i++) {
-            mongoTemplate.save(new MovieModel(String.valueOf(i), "Movie " + i, "Desc", "Genre"));
+            mongoTemplate.save(new MovieModel(id(i), "Movie " + i, "Desc", "Genre"));
         }
     }
 
@@ -33,4 +34,4 @@ public class MovieTest {
         long count = mongoTemplate.count(new org.springframework.data.mongodb.core.query.Query(), MovieModel.class);
         assertEquals(30, count);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+package edu.litviniuk.mongo.service;
+
+/*
+  @author darin
+  @project mongo
+  @class ReactiveMovieApiResponseTest
+  @version 1.0.0
+  @since 18.10.2026 - 15.40
+*/
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.litviniuk.mongo.model.GenreStatsModel;
+import edu.litviniuk.mongo.model.MovieHistoryModel;
+import edu.litviniuk.mongo.model.MovieModel;
+import edu.litviniuk.mongo.repository.ReactiveMovieRepository;
+import edu.litviniuk.mongo.request.CreateMovieRequest;
+import edu.litviniuk.mongo.request.UpdateMovieRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static edu.litviniuk.mongo.service.MovieFixtures.id;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+public class ReactiveMovieApiResponseTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveMovieRepository movieRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @BeforeEach
+    void setup() {
+        movieRepository.deleteAll().block();
+        for (int i = 19; i <= 25; i++) {
+            movieRepository.save(new MovieModel(id(i), "Movie " + i, "Desc", "Genre")).block();
+        }
+    }
+
+    @Test
+    void whenGetMoviesPage_thenReturn200ApiResponse() {
+        webTestClient.get().uri("/api/v1/movies/api-response?limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.meta.success").isEqualTo(true)
+                .jsonPath("$.data.length()").isEqualTo(5)
+                .jsonPath("$.meta.nextCursor").exists();
+    }
+
+    @Test
+    void whenMovieNotExists_thenReturn404ApiResponse() {
+        webTestClient.get().uri("/api/v1/movies/api-response/" + id(999))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.meta.errorMessage").isEqualTo("Movie not found");
+    }
+
+    @Test
+    void whenFieldsRequested_thenOnlyProjectedResponsesSkipNulls() {
+        webTestClient.get().uri("/api/v1/movies/api-response/" + id(20))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].lastUpdateDate").hasJsonPath()
+                .jsonPath("$.data[0].score").doesNotHaveJsonPath();
+        webTestClient.get().uri("/api/v1/movies/api-response/" + id(20) + "?fields=title")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].title").isEqualTo("Movie 20")
+                .jsonPath("$.data[0].lastUpdateDate").doesNotHaveJsonPath()
+                .jsonPath("$.data[0].genre").doesNotHaveJsonPath();
+    }
+
+    @Test
+    void whenCreateDuplicateMovie_thenReturn400ApiResponse() {
+        webTestClient.post().uri("/api/v1/movies/api-response")
+                .bodyValue(new CreateMovieRequest("Movie 19", "Desc", "Genre"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.meta.errorMessage").isEqualTo("Title already exists");
+    }
+
+    @Test
+    void whenUpdateWithStaleIfMatch_thenReturn412ApiResponse() {
+        webTestClient.put().uri("/api/v1/movies/api-response")
+                .header(HttpHeaders.IF_MATCH, "\"41\"")
+                .bodyValue(new UpdateMovieRequest(id(20), "Movie 20 v2", "Desc", "Genre"))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void whenDeleteExists_thenReturn200ApiResponse() {
+        webTestClient.delete().uri("/api/v1/movies/api-response/" + id(25))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.meta.success").isEqualTo(true);
+    }
+
+    @Test
+    void whenMovieCreatedUpdatedAndDeleted_thenEveryWriteIsRecordedInHistory() {
+        String id = webTestClient.post().uri("/api/v1/movies/api-response")
+                .bodyValue(new CreateMovieRequest("Reactive history", "Desc", "Drama"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JsonNode.class)
+                .returnResult().getResponseBody()
+                .at("/data/0/id").asText();
+        webTestClient.put().uri("/api/v1/movies/api-response")
+                .bodyValue(new UpdateMovieRequest(id, "Reactive history", "Desc", "Comedy"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].genre").isEqualTo("Comedy")
+                .jsonPath("$.data[0].version").isEqualTo(1);
+        webTestClient.delete().uri("/api/v1/movies/api-response/" + id)
+                .exchange()
+                .expectStatus().isOk();
+
+        List<MovieHistoryModel> history = reactiveMongoTemplate
+                .find(new Query(Criteria.where("movieId").is(id)), MovieHistoryModel.class)
+                .collectList().block();
+        assertEquals(Set.of(MovieHistoryModel.Action.CREATE, MovieHistoryModel.Action.UPDATE, MovieHistoryModel.Action.DELETE),
+                history.stream().map(MovieHistoryModel::getAction).collect(Collectors.toSet()));
+        MovieHistoryModel update = history.stream()
+                .filter(entry -> entry.getAction() == MovieHistoryModel.Action.UPDATE)
+                .findFirst().orElseThrow();
+        assertEquals(new MovieHistoryModel.FieldChange("Drama", "Comedy"), update.getChanges().get("genre"));
+    }
+
+    @Test
+    void whenMovieCreatedUpdatedAndDeleted_thenGenreCountersFollow() {
+        reactiveMongoTemplate.dropCollection(GenreStatsModel.class).block();
+        String id = webTestClient.post().uri("/api/v1/movies/api-response")
+                .bodyValue(new CreateMovieRequest("Reactive stats", "Desc", "Drama"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(JsonNode.class)
+                .returnResult().getResponseBody()
+                .at("/data/0/id").asText();
+        assertEquals(1, genreStats("Drama").getMovieCount());
+
+        webTestClient.put().uri("/api/v1/movies/api-response")
+                .bodyValue(new UpdateMovieRequest(id, "Reactive stats", "Desc", "Comedy"))
+                .exchange()
+                .expectStatus().isOk();
+        assertEquals(0, genreStats("Drama").getMovieCount());
+        assertEquals(1, genreStats("Comedy").getMovieCount());
+        assertEquals(1, genreStats("Comedy").getUpdateCount());
+
+        webTestClient.delete().uri("/api/v1/movies/api-response/" + id)
+                .exchange()
+                .expectStatus().isOk();
+        assertEquals(0, genreStats("Comedy").getMovieCount());
+    }
+
+    @Test
+    void whenReactiveProfile_thenOnlyTheReactiveMongoClientIsCreated() {
+        assertEquals(0, applicationContext.getBeanNamesForType(com.mongodb.client.MongoClient.class).length);
+        assertEquals(1, applicationContext.getBeanNamesForType(com.mongodb.reactivestreams.client.MongoClient.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(MovieService.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(MovieHistoryService.class).length);
+    }
+
+    private GenreStatsModel genreStats(String genre) {
+        return reactiveMongoTemplate.findById(genre, GenreStatsModel.class).block();
+    }
+}
@@ -0,0 +1,47 @@
+package edu.litviniuk.mongo.utils;
+
+/*
+  @author darin
+  @project mongo
+  @class BatchingFlusherTest
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BatchingFlusherTest {
+
+    @Test
+    void whenFlushThrows_thenFailureIsCountedAndLaterBatchesStillFlush() throws Exception {
+        LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
+        List<Integer> flushed = new CopyOnWriteArrayList<>();
+        BatchingFlusher<Integer> flusher = new BatchingFlusher<>("test-flusher", queue, 10, Duration.ofMillis(10),
+                batch -> {
+                    if (batch.contains(-1)) {
+                        throw new IllegalStateException("Mongo is down");
+                    }
+                    flushed.addAll(batch);
+                });
+        flusher.start();
+
+        queue.add(-1);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (flusher.getFailures() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        queue.add(1);
+        queue.add(2);
+        flusher.stop(Duration.ofSeconds(5));
+
+        assertEquals(1, flusher.getFailures());
+        assertEquals(List.of(1, 2), flushed);
+    }
+}
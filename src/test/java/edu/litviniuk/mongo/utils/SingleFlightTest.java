@@ -0,0 +1,83 @@
+package edu.litviniuk.mongo.utils;
+
+/*
+  @author darin
+  @project mongo
+  @class SingleFlightTest
+  @version 1.0.0
+  @since 18.10.2026 - 23.59
+*/
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void whenIdenticalCallsOverlap_thenLoaderRunsOnceAndResultIsShared() throws Exception {
+        SingleFlight<String, List<String>> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> result = List.of("Movie 19");
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<List<String>>> calls = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                calls.add(executor.submit(() -> flight.execute("19", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return result;
+                })));
+            }
+            // everyone but the loader is parked on the shared future before it finishes
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (flight.getCoalesced() < CALLERS - 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<List<String>> call : calls) {
+                assertSame(result, call.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.getExecuted());
+        assertEquals(CALLERS - 1, flight.getCoalesced());
+    }
+
+    @Test
+    void whenLoaderFails_thenKeyIsReleasedForTheNextCall() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class, () -> flight.execute("19", () -> {
+            throw new IllegalStateException("Mongo is down");
+        }));
+        assertEquals("Movie 19", flight.execute("19", () -> "Movie 19"));
+        assertEquals(2, flight.getExecuted());
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}